@@ -0,0 +1,46 @@
+package org.kafka.evraktakip.mapper;
+
+import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct ile üretilen {@link DocumentMapper#toDto} dönüşümünün verimi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentMapperBenchmark {
+
+    private DocumentMapper mapper;
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        mapper = new DocumentMapperImpl();
+
+        Company company = new Company();
+        company.setId(1L);
+        company.setName("Örnek Firma A.Ş.");
+
+        document = new Document();
+        document.setId(42L);
+        document.setFileName("3f9a1c2e");
+        document.setOriginalFileName("2024-fatura-00123.pdf");
+        document.setFilePath("uploads/3f/9a/3f9a1c2e");
+        document.setFileType("application/pdf");
+        document.setFileSize(184_320L);
+        document.setChecksum("3f9a1c2e".repeat(8));
+        document.setUploadDate(Instant.now());
+        document.setCompany(company);
+    }
+
+    @Benchmark
+    public DocumentDTO toDto() {
+        return mapper.toDto(document);
+    }
+}
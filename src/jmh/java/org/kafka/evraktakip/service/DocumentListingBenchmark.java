@@ -0,0 +1,183 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.EvrakTakipApplication;
+import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.dto.DocumentSliceDTO;
+import org.kafka.evraktakip.mapper.DocumentMapper;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gömülü H2 veritabanı üzerinde uçtan uca firma evrak listeleme (servis, JPA, mapper).
+ * Veri hacmi parametrelerle değiştirilebilir:
+ * {@code java -jar build/libs/evrakTakip-*-jmh.jar DocumentListing -p documentsPerCompany=100000}
+ * <p>
+ * {@code firstPage} ile {@code firstPageEntities} listelemenin projeksiyon ve entity yollarını karşılaştırır;
+ * istek başına bellek ayırma için: {@code ./gradlew jmh -PjmhIncludes=DocumentListing.firstPage -PjmhProfilers=gc}
+ * (gc.alloc.rate.norm, bayt/işlem).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class DocumentListingBenchmark {
+
+    private static final int SEED_CHUNK_SIZE = 1_000;
+    private static final String[] FILE_TYPES = {"application/pdf", "image/png", "text/plain"};
+
+    @Param({"10"})
+    public int companies;
+
+    @Param({"1000", "20000"})
+    public int documentsPerCompany;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private DocumentService documentService;
+    private CompanyRepository companyRepository;
+    private DocumentRepository documentRepository;
+    private DocumentMapper documentMapper;
+    private TransactionTemplate readOnly;
+    private Long companyId;
+    private DocumentSearchCriteria noFilters;
+    private DocumentSearchCriteria nameFilter;
+    private Path workDir;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("evrak-bench");
+        context = new SpringApplicationBuilder(EvrakTakipApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "file.upload-dir=" + workDir.resolve("uploads"),
+                        "search.index-dir=" + workDir.resolve("index"),
+                        // Ölçümü bozmaması için arka plan işleri ertelenir
+                        "preview.poll-interval=PT1H",
+                        "document-count.reconcile-initial-delay=PT1H")
+                .run();
+        documentService = context.getBean(DocumentService.class);
+        companyRepository = context.getBean(CompanyRepository.class);
+        documentRepository = context.getBean(DocumentRepository.class);
+        documentMapper = context.getBean(DocumentMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        companyId = seed();
+        noFilters = new DocumentSearchCriteria(null, null, null, null);
+        nameFilter = new DocumentSearchCriteria("fatura-1", null, null, null);
+    }
+
+    private Long seed() {
+        CompanyRepository companyRepository = context.getBean(CompanyRepository.class);
+        DocumentRepository documentRepository = context.getBean(DocumentRepository.class);
+        CompanyDocumentCounter documentCounter = context.getBean(CompanyDocumentCounter.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Long firstCompanyId = null;
+        Instant now = Instant.now();
+        for (int c = 0; c < companies; c++) {
+            Company company = new Company();
+            company.setName("Firma " + c);
+            Company saved = tx.execute(status -> {
+                Company savedCompany = companyRepository.save(company);
+                companyRepository.flush();
+                documentCounter.add(savedCompany.getId(), documentsPerCompany);
+                return savedCompany;
+            });
+            if (firstCompanyId == null) {
+                firstCompanyId = saved.getId();
+            }
+
+            for (int from = 0; from < documentsPerCompany; from += SEED_CHUNK_SIZE) {
+                List<Document> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+                for (int d = from; d < Math.min(from + SEED_CHUNK_SIZE, documentsPerCompany); d++) {
+                    Document document = new Document();
+                    document.setFileName("evrak-" + c + "-" + d);
+                    document.setOriginalFileName("fatura-" + d + ".pdf");
+                    document.setFilePath("uploads/evrak-" + c + "-" + d);
+                    document.setFileType(FILE_TYPES[d % FILE_TYPES.length]);
+                    document.setFileSize(100_000L + d);
+                    document.setUploadDate(now.minus(d, ChronoUnit.MINUTES));
+                    document.setCompany(saved);
+                    chunk.add(document);
+                }
+                tx.executeWithoutResult(status -> documentRepository.saveAll(chunk));
+            }
+        }
+        return firstCompanyId;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (var files = Files.walk(workDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Page<DocumentDTO> firstPage() {
+        return documentService.getDocumentsByCompany(companyId, noFilters,
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "uploadDate")));
+    }
+
+    // Projeksiyondan önceki yol: Document entity'leri yüklenir, Company proxy'si üzerinden mapper ile dönüştürülür
+    @Benchmark
+    public Page<DocumentDTO> firstPageEntities() {
+        return readOnly.execute(status -> {
+            Company company = companyRepository.findById(companyId).orElseThrow();
+            return documentRepository.findAll(DocumentService.buildSpecification(company, noFilters),
+                            PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "uploadDate")))
+                    .map(documentMapper::toDto);
+        });
+    }
+
+    @Benchmark
+    public Page<DocumentDTO> deepOffsetPage() {
+        int lastPage = Math.max(0, documentsPerCompany / pageSize - 1);
+        return documentService.getDocumentsByCompany(companyId, noFilters,
+                PageRequest.of(lastPage, pageSize, Sort.by(Sort.Direction.DESC, "uploadDate")));
+    }
+
+    @Benchmark
+    public DocumentSliceDTO firstKeysetSlice() {
+        return documentService.getDocumentsByCompany(companyId, noFilters, null, pageSize);
+    }
+
+    @Benchmark
+    public Page<DocumentDTO> fileNameSearch() {
+        return documentService.getDocumentsByCompany(companyId, nameFilter,
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "uploadDate")));
+    }
+}
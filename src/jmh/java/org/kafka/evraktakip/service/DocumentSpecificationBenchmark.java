@@ -0,0 +1,42 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getDocumentsByCompany} içinde filtrelere göre Specification oluşturma maliyeti.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DocumentSpecificationBenchmark {
+
+    private Company company;
+    private DocumentSearchCriteria noFilters;
+    private DocumentSearchCriteria allFilters;
+
+    @Setup
+    public void setUp() {
+        company = new Company();
+        company.setId(1L);
+        noFilters = new DocumentSearchCriteria(null, null, null, null);
+        allFilters = new DocumentSearchCriteria("fatura", "application/pdf",
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+    }
+
+    @Benchmark
+    public Specification<Document> withoutFilters() {
+        return DocumentService.buildSpecification(company, noFilters);
+    }
+
+    @Benchmark
+    public Specification<Document> withAllFilters() {
+        return DocumentService.buildSpecification(company, allFilters);
+    }
+}
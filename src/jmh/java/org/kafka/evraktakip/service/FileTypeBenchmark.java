@@ -0,0 +1,23 @@
+package org.kafka.evraktakip.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yükleme sırasında çalışan dosya tipi kontrolü.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FileTypeBenchmark {
+
+    @Param({"application/pdf", "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "application/zip"})
+    public String contentType;
+
+    @Benchmark
+    public boolean isValidFileType() {
+        return DocumentService.isValidFileType(contentType);
+    }
+}
@@ -0,0 +1,72 @@
+package org.kafka.evraktakip.storage;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Farklı boyutlardaki içeriklerin diske yazılması (özet hesabı dahil), ham ve gzip modlarında.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamingFileWriterBenchmark {
+
+    private static final long MAX_FILE_SIZE = 10_000_000;
+
+    @Param({"4096", "262144", "4194304"})
+    public int size;
+
+    private byte[] content;
+    private Path dir;
+    private Path target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("evrak-bench");
+        String[] words = {"fatura", "irsaliye", "sözleşme", "tutar", "tarih", "firma", "vergi", "ödeme"};
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(' ').append(random.nextInt(100_000)).append(' ');
+        }
+        content = text.substring(0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Invocation)
+    public void newTarget() {
+        target = dir.resolve(UUID.randomUUID().toString());
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget() throws IOException {
+        Files.deleteIfExists(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public StreamingFileWriter.WrittenFile raw() throws IOException {
+        return StreamingFileWriter.write(new ByteArrayInputStream(content), target, MAX_FILE_SIZE);
+    }
+
+    @Benchmark
+    public StreamingFileWriter.WrittenFile gzip() throws IOException {
+        return StreamingFileWriter.writeGzip(new ByteArrayInputStream(content), target, MAX_FILE_SIZE);
+    }
+}
@@ -0,0 +1,77 @@
+package org.kafka.evraktakip.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Evrak arşivinin ayarları. documents tablosu aylık partition'lara bölündüğünde (bkz.
+ * 007_documents_partitioning.sql) yükleme ayı documents.archive.after-months'tan eski partition'lar
+ * documents_archive tablosuna, dosyaları soğuk depolama dizinine taşınır. Arşivlenen evraklar
+ * getirilebilir/indirilebilir ve eski tarihlere uzanan listelemelerde görünmeye devam eder.
+ */
+@Component
+public class DocumentArchive {
+
+    private final boolean enabled;
+    private final int afterMonths;
+    private final Path hotRoot;
+    private final Path coldRoot;
+
+    public DocumentArchive(@Value("${documents.partitioning.enabled:false}") boolean enabled,
+                           @Value("${documents.archive.after-months:24}") int afterMonths,
+                           @Value("${file.upload-dir:uploads}") String uploadDir,
+                           @Value("${documents.archive.cold-dir:archive}") String coldDir) {
+        this.enabled = enabled;
+        this.afterMonths = afterMonths;
+        this.hotRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.coldRoot = Paths.get(coldDir).toAbsolutePath().normalize();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path coldRoot() {
+        return coldRoot;
+    }
+
+    /**
+     * Bu aydan önceki aylara ait partition'lar arşivlenir (partition sınırları UTC'dir).
+     */
+    public YearMonth cutoffMonth() {
+        return YearMonth.now(ZoneOffset.UTC).minusMonths(afterMonths);
+    }
+
+    /**
+     * Bu andan önce yüklenmiş evraklar arşivde olabilir.
+     */
+    public Instant horizon() {
+        return cutoffMonth().atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Başlangıç tarihi arşiv sınırından önceyse listeleme arşive de uzanır. Tarih verilmeyen
+     * listelemeler yalnızca güncel evrakları (documents) okur.
+     */
+    public boolean reaches(Instant uploadedFrom) {
+        return enabled && uploadedFrom != null && uploadedFrom.isBefore(horizon());
+    }
+
+    /**
+     * Dosyanın soğuk depolamadaki yolu; yükleme dizini altındaki göreli yol korunur.
+     */
+    Path coldPathFor(Path hotFile, Long documentId) {
+        Path file = hotFile.toAbsolutePath().normalize();
+        if (file.startsWith(hotRoot)) {
+            return coldRoot.resolve(hotRoot.relativize(file));
+        }
+        // Yükleme dizini dışında kalan eski kayıtlar
+        return coldRoot.resolve("legacy").resolve(documentId + "_" + file.getFileName());
+    }
+}
@@ -0,0 +1,52 @@
+package org.kafka.evraktakip.archive;
+
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arşivlemenin veritabanı adımları; her adım kendi kısa transaction'ında çalışır.
+ * Dosya kopyalama ve silme {@link DocumentPartitionMaintenance} tarafından transaction dışında yapılır.
+ */
+@Service
+public class DocumentArchiveService {
+
+    private final DocumentPartitions partitions;
+    private final DocumentStorage documentStorage;
+
+    public DocumentArchiveService(DocumentPartitions partitions, DocumentStorage documentStorage) {
+        this.partitions = partitions;
+        this.documentStorage = documentStorage;
+    }
+
+    @Transactional
+    public void archivePartition(YearMonth month) {
+        partitions.moveToArchive(month);
+    }
+
+    /**
+     * Kopyalanan dosyaların yeni yollarını kaydeder ve sıcak depodaki içerik referanslarını bırakır;
+     * arşivlenen kayıtlar document_blobs referansı tutmaz. Artık hiç referansı kalmayan içeriklerin
+     * özetleri döner, dosyaları commit sonrasında silinmelidir.
+     */
+    @Transactional
+    public List<String> commitArchivedFiles(YearMonth month, List<DocumentPartitions.ArchivedFile> files) {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        partitions.updateFilePaths(month, files);
+
+        Map<String, Integer> referenceCounts = new HashMap<>();
+        for (DocumentPartitions.ArchivedFile file : files) {
+            if (file.ref().checksum() != null) {
+                referenceCounts.merge(file.ref().checksum(), 1, Integer::sum);
+            }
+        }
+        return documentStorage.releaseAll(referenceCounts);
+    }
+}
@@ -0,0 +1,194 @@
+package org.kafka.evraktakip.archive;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.preview.PreviewVariant;
+import org.kafka.evraktakip.repository.DocumentFileRef;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition'lı documents tablosunun bakımı: önümüzdeki aylar için partition'ları önceden oluşturur,
+ * soğuk partition'ları documents_archive'a taşır ve dosyalarını soğuk depolama dizinine kopyalar.
+ * Dosya taşıma yarıda kalırsa (ör. disk hatası) sonraki çalışmada kaldığı yerden sürer.
+ * Yalnızca 007_documents_partitioning.sql uygulanmış PostgreSQL veritabanlarında etkinleştirilmelidir.
+ */
+@Component
+@ConditionalOnProperty(name = "documents.partitioning.enabled", havingValue = "true")
+public class DocumentPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentPartitionMaintenance.class);
+
+    private final DocumentPartitions partitions;
+    private final DocumentArchiveService archiveService;
+    private final DocumentArchive archive;
+    private final DocumentStorage documentStorage;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int monthsAhead;
+    private final int batchSize;
+
+    public DocumentPartitionMaintenance(DocumentPartitions partitions,
+                                        DocumentArchiveService archiveService,
+                                        DocumentArchive archive,
+                                        DocumentStorage documentStorage,
+                                        EntityManagerFactory entityManagerFactory,
+                                        @Value("${documents.partitioning.months-ahead:3}") int monthsAhead,
+                                        @Value("${documents.archive.batch-size:500}") int batchSize) {
+        this.partitions = partitions;
+        this.archiveService = archiveService;
+        this.archive = archive;
+        this.documentStorage = documentStorage;
+        this.entityManagerFactory = entityManagerFactory;
+        this.monthsAhead = monthsAhead;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * İçinde bulunulan ay ve önümüzdeki months-ahead ay için partition oluşturur; böylece yeni kayıtlar
+     * varsayılan partition'a düşmez.
+     */
+    @Scheduled(initialDelayString = "${documents.partitioning.initial-delay:PT1M}",
+               fixedDelayString = "${documents.partitioning.interval:PT6H}")
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                partitions.createIfMissing(current.plusMonths(i));
+            } catch (DataAccessException e) {
+                logger.warn("Evrak partition'ı oluşturulamadı: {}", DocumentPartitions.nameOf(current.plusMonths(i)), e);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${documents.archive.initial-delay:PT15M}",
+               fixedDelayString = "${documents.archive.interval:P1D}")
+    public void archiveColdPartitions() {
+        YearMonth cutoff = archive.cutoffMonth();
+        for (YearMonth month : partitions.findMonths("documents")) {
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            archiveService.archivePartition(month);
+            // Önbellekteki kayıtlar artık documents tablosunda olmayan satırları gösterebilir
+            entityManagerFactory.getCache().evict(Document.class);
+            logger.info("Evrak partition'ı arşivlendi: {}", DocumentPartitions.nameOf(month));
+        }
+
+        for (YearMonth month : partitions.findPendingFileMoves()) {
+            if (!moveFiles(month)) {
+                return;
+            }
+            partitions.markFilesMoved(month);
+        }
+    }
+
+    /**
+     * Partition'daki dosyaları parti parti soğuk depolamaya kopyalar, kayıtları yeni yollara çevirir ve
+     * sıcak depodaki kopyaları commit sonrasında siler. Bir dosya kopyalanamazsa false döner.
+     */
+    private boolean moveFiles(YearMonth month) {
+        String coldPrefix = archive.coldRoot().toString() + archive.coldRoot().getFileSystem().getSeparator();
+        long afterId = 0;
+        int moved = 0;
+        int missing = 0;
+        List<DocumentFileRef> refs;
+        do {
+            refs = partitions.findHotFiles(month, coldPrefix, afterId, batchSize);
+            List<DocumentPartitions.ArchivedFile> files = new ArrayList<>(refs.size());
+            for (DocumentFileRef ref : refs) {
+                afterId = ref.id();
+                Path source = Paths.get(ref.filePath());
+                Path target = archive.coldPathFor(source, ref.id());
+                try {
+                    boolean copied = copyToCold(source, target);
+                    files.add(new DocumentPartitions.ArchivedFile(ref, target.toString(), !copied));
+                    if (!copied) {
+                        missing++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Evrak dosyası arşive kopyalanamadı: {}", source, e);
+                    commit(month, files);
+                    return false;
+                }
+            }
+            commit(month, files);
+            moved += files.size();
+        } while (refs.size() == batchSize);
+
+        logger.info("{} partition'ında {} evrak dosyası arşive taşındı ({} dosya bulunamadı)",
+                DocumentPartitions.nameOf(month), moved, missing);
+        return true;
+    }
+
+    private void commit(YearMonth month, List<DocumentPartitions.ArchivedFile> files) {
+        List<String> unreferenced = archiveService.commitArchivedFiles(month, files);
+        entityManagerFactory.getCache().evict(Document.class);
+
+        for (String hash : unreferenced) {
+            try {
+                documentStorage.deleteContent(hash);
+            } catch (IOException e) {
+                logger.warn("Arşivlenen evrak içeriği silinemedi: {}", hash, e);
+            }
+        }
+        // İçerik adresli depolamadan önce yüklenmiş evrakların dosyaları referans sayılmadan silinir
+        for (DocumentPartitions.ArchivedFile file : files) {
+            if (file.ref().checksum() == null && !file.missing()) {
+                Path source = Paths.get(file.ref().filePath());
+                try {
+                    Files.deleteIfExists(source);
+                    for (PreviewVariant variant : PreviewVariant.values()) {
+                        Files.deleteIfExists(variant.pathFor(source));
+                    }
+                } catch (IOException e) {
+                    logger.warn("Arşivlenen evrak dosyası silinemedi: {}", source, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dosyayı ve önizlemelerini hedefe kopyalar; hedef zaten varsa (aynı içerik ya da yarıda kalan
+     * önceki çalışma) yeniden kopyalanmaz. Kaynak ve hedef yoksa false döner.
+     */
+    private boolean copyToCold(Path source, Path target) throws IOException {
+        if (!copyIfAbsent(source, target)) {
+            return false;
+        }
+        for (PreviewVariant variant : PreviewVariant.values()) {
+            copyIfAbsent(variant.pathFor(source), variant.pathFor(target));
+        }
+        return true;
+    }
+
+    private boolean copyIfAbsent(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return true;
+        }
+        if (!Files.exists(source)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        // Yarım kopya hedef adıyla görünmesin diye önce geçici dosyaya yazılır
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+}
@@ -0,0 +1,131 @@
+package org.kafka.evraktakip.archive;
+
+import org.kafka.evraktakip.repository.DocumentFileRef;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * documents ve documents_archive partition'larının yönetimi (PostgreSQL). Partition adları
+ * {@code documents_pYYYY_MM} biçimindedir ve yalnızca bu sınıfta ayından üretilir; SQL'e başka bir
+ * kaynaktan ad eklenmez.
+ */
+@Repository
+public class DocumentPartitions {
+
+    private static final Pattern NAME = Pattern.compile("documents_p(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentPartitions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static String nameOf(YearMonth month) {
+        return "documents_p" + month.format(SUFFIX);
+    }
+
+    static Optional<YearMonth> monthOf(String name) {
+        Matcher matcher = NAME.matcher(name);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    /**
+     * Üst tabloya bağlı aylık partition'ların ayları (varsayılan partition hariç), eskiden yeniye.
+     */
+    public List<YearMonth> findMonths(String parentTable) {
+        return jdbcTemplate.queryForList("""
+                        select c.relname from pg_inherits i
+                        join pg_class c on c.oid = i.inhrelid
+                        join pg_class p on p.oid = i.inhparent
+                        where p.relname = ?""", String.class, parentTable)
+                .stream()
+                .flatMap(name -> monthOf(name).stream())
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Ayın partition'ını yoksa oluşturur. Varsayılan partition'da bu aya düşen kayıt varsa PostgreSQL
+     * oluşturmayı reddeder.
+     */
+    public void createIfMissing(YearMonth month) {
+        jdbcTemplate.execute("create table if not exists " + nameOf(month) + " partition of documents" + bounds(month));
+    }
+
+    /**
+     * Partition'ı documents'tan ayırıp documents_archive'a bağlar ve dosyaları taşınacak olarak kaydeder.
+     * Varsayılan partition bulunduğu için DETACH ... CONCURRENTLY kullanılamaz; işlem kısa bir
+     * ACCESS EXCLUSIVE kilidi alır. Çağıran transaction içinde çalışmalıdır.
+     */
+    public void moveToArchive(YearMonth month) {
+        String name = nameOf(month);
+        jdbcTemplate.execute("alter table documents detach partition " + name);
+        jdbcTemplate.execute("alter table documents_archive attach partition " + name + bounds(month));
+        jdbcTemplate.update("""
+                insert into document_archive_partitions (partition_name, archived_at) values (?, now())
+                on conflict (partition_name) do nothing""", name);
+    }
+
+    /**
+     * Arşivlenmiş ama dosyaları henüz soğuk depolamaya taşınmamış partition'lar.
+     */
+    public List<YearMonth> findPendingFileMoves() {
+        return jdbcTemplate.queryForList(
+                        "select partition_name from document_archive_partitions where files_moved_at is null order by 1",
+                        String.class)
+                .stream()
+                .flatMap(name -> monthOf(name).stream())
+                .toList();
+    }
+
+    /**
+     * Dosyası hâlâ soğuk depolama dışında olan kayıtlar, id sırasıyla afterId'den sonrası.
+     */
+    public List<DocumentFileRef> findHotFiles(YearMonth month, String coldPrefix, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "select id, file_path, checksum from " + nameOf(month) +
+                " where file_path not like ? and id > ? order by id limit ?",
+                (rs, rowNum) -> new DocumentFileRef(rs.getLong("id"), rs.getString("file_path"), rs.getString("checksum")),
+                escapeLike(coldPrefix) + "%", afterId, limit);
+    }
+
+    public void updateFilePaths(YearMonth month, List<ArchivedFile> files) {
+        jdbcTemplate.batchUpdate(
+                "update " + nameOf(month) + " set file_path = ?, file_missing = file_missing or ? where id = ?",
+                files, files.size(), (ps, file) -> {
+                    ps.setString(1, file.coldPath());
+                    ps.setBoolean(2, file.missing());
+                    ps.setLong(3, file.ref().id());
+                });
+    }
+
+    public void markFilesMoved(YearMonth month) {
+        jdbcTemplate.update("update document_archive_partitions set files_moved_at = now() where partition_name = ?",
+                nameOf(month));
+    }
+
+    private static String bounds(YearMonth month) {
+        return " for values from ('" + month.atDay(1) + " 00:00:00+00') to ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Soğuk depolamaya kopyalanan (ya da kaynağı bulunamayan) evrak dosyası.
+     */
+    public record ArchivedFile(DocumentFileRef ref, String coldPath, boolean missing) {
+    }
+}
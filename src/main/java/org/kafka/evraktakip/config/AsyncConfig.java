@@ -0,0 +1,58 @@
+package org.kafka.evraktakip.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    // İçerik indeksleme işleri tek thread'de, commit sırasıyla çalışır: aynı evrakın yükleme ve silme
+    // olayları yer değiştiremez (silinen evrak indekse geri eklenmez). Kuyruk sınırsızdır, iş atlanmaz;
+    // kuyruktaki her iş yalnızca olayın kendisini (birkaç alan) tutar
+    @Bean
+    public ThreadPoolTaskExecutor documentIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("document-index-");
+        return executor;
+    }
+
+    // İndeksin yeniden oluşturulması; kuyruk olmadığından ikinci bir istek çalışan iş bitene kadar reddedilir
+    // (TaskRejectedException) ve indeksleme kuyruğundaki işlerle yer için yarışmaz
+    @Bean
+    public ThreadPoolTaskExecutor indexRebuildExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("index-rebuild-");
+        return executor;
+    }
+
+    // Önizleme üretimi; iş sayısı PreviewJobWorker tarafından preview.concurrency ile sınırlanır
+    @Bean
+    public ThreadPoolTaskExecutor previewExecutor(@Value("${preview.concurrency:2}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("preview-");
+        return executor;
+    }
+
+    // Firma silme işleri; aynı anda tek iş çalışır (bkz. CompanyDeletionWorker)
+    @Bean
+    public ThreadPoolTaskExecutor companyDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("company-deletion-");
+        return executor;
+    }
+}
@@ -0,0 +1,12 @@
+package org.kafka.evraktakip.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // CompanyService.getCompanyById sonuçları (CompanyDTO)
+    public static final String COMPANIES = "companies";
+}
@@ -0,0 +1,17 @@
+package org.kafka.evraktakip.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.kafka.evraktakip.metrics.SqlStatementMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // SQL ifadelerini saymak için; özellikle ayarlanmış bir inspector varsa (ör. testlerde) o korunur
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementMetrics sqlStatementMetrics) {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementMetrics);
+    }
+}
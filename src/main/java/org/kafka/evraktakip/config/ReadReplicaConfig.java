@@ -0,0 +1,56 @@
+package org.kafka.evraktakip.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * db.replica.jdbc-url tanımlıysa salt okunur transaction'lar ({@code @Transactional(readOnly = true)})
+ * okuma kopyasının bağlantı havuzuna, diğer tüm işlemler birincil veritabanına gider.
+ * <p>
+ * Yönlendirmeyi LazyConnectionDataSourceProxy yapar: fiziksel bağlantı ilk SQL ifadesine kadar alınmaz,
+ * bu sırada transaction yöneticisi bağlantıyı salt okunur olarak işaretlemiş olur. Kopya gecikmeli
+ * olabileceğinden yazdıktan hemen sonra okunması gereken işlemler salt okunur işaretlenmemelidir.
+ * spring.jpa.open-in-view kapalıdır; aksi halde istek boyunca açık kalan EntityManager, salt okunur bir
+ * çağrıda alınan kopya bağlantısını aynı istekteki yazmalarda da kullanırdı.
+ */
+@Configuration
+@ConditionalOnProperty("db.replica.jdbc-url")
+public class ReadReplicaConfig {
+
+    // spring.datasource.* ayarları birincil havuz için aynen geçerlidir
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("db.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Havuzlar VirtualThreadConfig tarafından sarmalanabildiği için DataSource olarak alınır
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replica);
+        return routing;
+    }
+}
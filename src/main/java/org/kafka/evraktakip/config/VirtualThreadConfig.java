@@ -0,0 +1,38 @@
+package org.kafka.evraktakip.config;
+
+import org.kafka.evraktakip.datasource.ConcurrencyLimitingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * spring.threads.virtual.enabled=true iken Tomcat istekleri (ve böylece DocumentService içindeki dosya
+ * G/Ç işlemleri) sanal thread'lerde çalışır. Bu modda eşzamanlı veritabanı işi ayrıca sınırlanır.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(
+            @Value("${db.max-concurrency:10}") int maxConcurrency,
+            @Value("${db.acquire-timeout:PT30S}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Yönlendiren/sarmalayan DataSource'lar atlanır; altlarındaki havuzlar ayrıca sınırlanır (bkz. ReadReplicaConfig)
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package org.kafka.evraktakip.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.kafka.evraktakip.dto.CacheStatsDTO;
+import org.kafka.evraktakip.service.CacheStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Önbellek", description = "Önbellek istatistikleri")
+public class CacheStatsController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheStatsController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @Operation(summary = "Önbellek isabet/ıskalama/tahliye istatistikleri")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+}
@@ -0,0 +1,31 @@
+package org.kafka.evraktakip.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.kafka.evraktakip.outbox.ChangeFeedBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@Tag(name = "Değişiklik Akışı", description = "Evrak ve firma değişikliklerinin anlık bildirimi")
+public class ChangeFeedController {
+
+    private final ChangeFeedBroadcaster changeFeedBroadcaster;
+
+    public ChangeFeedController(ChangeFeedBroadcaster changeFeedBroadcaster) {
+        this.changeFeedBroadcaster = changeFeedBroadcaster;
+    }
+
+    @Operation(summary = "Değişiklikleri Server-Sent Events olarak dinle")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Yalnızca bu firmanın olayları") @RequestParam(required = false) Long companyId) {
+        return changeFeedBroadcaster.subscribe(companyId);
+    }
+}
@@ -2,6 +2,8 @@ package org.kafka.evraktakip.controller;
 
 import jakarta.validation.Valid;
 import org.kafka.evraktakip.dto.CompanyDTO;
+import org.kafka.evraktakip.dto.CompanyDeletionJobDTO;
+import org.kafka.evraktakip.service.CompanyDeletionService;
 import org.kafka.evraktakip.service.CompanyService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,9 +23,11 @@ import java.util.List;
 public class CompanyController {
 
     private final CompanyService companyService;
+    private final CompanyDeletionService companyDeletionService;
 
-    public CompanyController(CompanyService companyService) {
+    public CompanyController(CompanyService companyService, CompanyDeletionService companyDeletionService) {
         this.companyService = companyService;
+        this.companyDeletionService = companyDeletionService;
     }
 
     @Operation(summary = "Yeni firma oluştur")
@@ -40,10 +44,16 @@ public class CompanyController {
         return ResponseEntity.ok(companyService.updateCompany(id, companyDTO));
     }
 
+    @Operation(summary = "Firmayı ve tüm evraklarını arka planda sil")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCompany(@PathVariable Long id) {
-        companyService.deleteCompany(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<CompanyDeletionJobDTO> deleteCompany(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(companyDeletionService.requestDeletion(id));
+    }
+
+    @Operation(summary = "Firma silme işinin durumu")
+    @GetMapping("/deletion-jobs/{jobId}")
+    public ResponseEntity<CompanyDeletionJobDTO> getDeletionJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(companyDeletionService.getJob(jobId));
     }
 
     @GetMapping("/{id}")
@@ -3,9 +3,24 @@ package org.kafka.evraktakip.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.kafka.evraktakip.dto.BatchUploadResultDTO;
 import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.dto.DocumentImportDTO;
 import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.dto.DocumentSearchHitDTO;
+import org.kafka.evraktakip.dto.DocumentSliceDTO;
+import org.kafka.evraktakip.exception.NotFoundException;
+import org.kafka.evraktakip.metrics.DocumentMetrics;
 import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.preview.PreviewVariant;
+import org.kafka.evraktakip.search.DocumentIndexingService;
+import org.kafka.evraktakip.service.DocumentExportService;
 import org.kafka.evraktakip.service.DocumentService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,23 +32,45 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/documents")
 @Tag(name = "Evrak İşlemleri", description = "Evrak yükleme, listeleme ve silme işlemleri")
 public class DocumentController {
 
+    // Bir evrakın içeriği değişmediği için istemci önbelleği ETag ile doğrulanarak kullanılabilir
+    private static final CacheControl DOWNLOAD_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+    // Önizlemeler liste ekranlarında sık istendiği için daha uzun süre önbellekte tutulabilir
+    private static final CacheControl PREVIEW_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(30)).cachePrivate();
+
     private final DocumentService documentService;
+    private final DocumentIndexingService documentIndexingService;
+    private final DocumentExportService documentExportService;
+    private final DocumentMetrics documentMetrics;
 
-    public DocumentController(DocumentService documentService) {
+    public DocumentController(DocumentService documentService, DocumentIndexingService documentIndexingService,
+                              DocumentExportService documentExportService, DocumentMetrics documentMetrics) {
         this.documentService = documentService;
+        this.documentIndexingService = documentIndexingService;
+        this.documentExportService = documentExportService;
+        this.documentMetrics = documentMetrics;
     }
 
     @Operation(summary = "Firma için evrak yükle")
@@ -46,6 +83,36 @@ public class DocumentController {
         return new ResponseEntity<>(documentDTO, HttpStatus.CREATED);
     }
 
+    @Operation(summary = "Firma için toplu evrak yükle")
+    @PostMapping(value = "/upload/{companyId}/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<BatchUploadResultDTO>> uploadDocuments(
+            @PathVariable Long companyId,
+            @Parameter(description = "Yüklenecek dosyalar")
+            @RequestParam("files") List<MultipartFile> files) {
+        return new ResponseEntity<>(documentService.uploadDocuments(companyId, files), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Diskte bulunan dosyalar için evrak kayıtlarını toplu aktar")
+    @PostMapping("/import/{companyId}")
+    public ResponseEntity<Integer> importDocuments(
+            @PathVariable Long companyId,
+            @RequestBody List<@Valid DocumentImportDTO> rows) {
+        return new ResponseEntity<>(documentService.importDocuments(companyId, rows), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Firma için evrak yükle (multipart olmadan, istek gövdesi doğrudan dosyaya yazılır)")
+    @PostMapping("/upload/{companyId}/stream")
+    public ResponseEntity<DocumentDTO> uploadDocumentStream(
+            @PathVariable Long companyId,
+            @Parameter(description = "Orijinal dosya adı") @RequestParam String fileName,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            HttpServletRequest request) throws IOException {
+        DocumentDTO documentDTO = documentService.uploadDocument(
+                companyId, fileName, contentType, contentLength, request.getInputStream());
+        return new ResponseEntity<>(documentDTO, HttpStatus.CREATED);
+    }
+
     @Operation(summary = "Firma evraklarını listele")
     @GetMapping("/company/{companyId}")
     public ResponseEntity<Page<DocumentDTO>> getDocumentsByCompany(
@@ -64,6 +131,69 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    @Operation(summary = "Firma evraklarını filtrelere göre ZIP olarak dışa aktar")
+    @GetMapping("/company/{companyId}/export")
+    public void exportDocuments(
+            @PathVariable Long companyId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String fileType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
+
+        DocumentSearchCriteria criteria = new DocumentSearchCriteria(
+            searchTerm, fileType, startDate, endDate
+        );
+
+        documentExportService.checkCompany(companyId);
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("firma-" + companyId + "-evraklar.zip")
+                .build()
+                .toString());
+        // Gövde istek thread'inde doğrudan yanıta yazılır (async zaman aşımı uzun dışa aktarımları kesmez)
+        documentExportService.exportDocuments(companyId, criteria, response.getOutputStream());
+    }
+
+    @Operation(summary = "Firma evraklarını imleç ile listele (toplam sayı olmadan)")
+    @GetMapping("/company/{companyId}/scroll")
+    public ResponseEntity<DocumentSliceDTO> scrollDocumentsByCompany(
+            @PathVariable Long companyId,
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String fileType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "Önceki yanıttaki nextCursor değeri") @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size) {
+
+        DocumentSearchCriteria criteria = new DocumentSearchCriteria(
+            searchTerm, fileType, startDate, endDate
+        );
+
+        return ResponseEntity.ok(documentService.getDocumentsByCompany(companyId, criteria, cursor, size));
+    }
+
+    @Operation(summary = "Firma evraklarının içeriğinde ara")
+    @GetMapping("/company/{companyId}/content-search")
+    public ResponseEntity<List<DocumentSearchHitDTO>> searchDocumentContent(
+            @PathVariable Long companyId,
+            @Parameter(description = "Lucene sorgu ifadesi") @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(documentIndexingService.search(companyId, query, limit));
+    }
+
+    @Operation(summary = "İçerik arama indeksini veritabanından yeniden oluştur",
+            description = "Bir yeniden oluşturma zaten sürüyorsa 503 döner")
+    @PostMapping("/content-search/rebuild")
+    public ResponseEntity<Void> rebuildContentIndex() {
+        try {
+            documentIndexingService.rebuildIndex();
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
     @Operation(summary = "Evrak sil")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDocument(@PathVariable Long id) {
@@ -71,26 +201,129 @@ public class DocumentController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Evrak aç")
-    @PostMapping("/{id}/open")
-    public ResponseEntity<Void> openDocument(@PathVariable Long id) {
-        documentService.openDocument(id);
-        return ResponseEntity.ok().build();
+    @Operation(summary = "Evrakı tarayıcıda görüntüle (inline, Range destekli)")
+    @RequestMapping(value = "/{id}/open", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> openDocument(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serveDocument(id, acceptEncoding, ContentDisposition.inline());
     }
 
     @Operation(summary = "Evrak indir")
     @GetMapping("/{id}/download")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
+    public ResponseEntity<?> downloadDocument(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return serveDocument(id, acceptEncoding, ContentDisposition.attachment());
+    }
+
+    private ResponseEntity<?> serveDocument(Long id, String acceptEncoding, ContentDisposition.Builder disposition) {
         Document document = documentService.getDocument(id);
+        Path filePath = Paths.get(document.getFilePath());
+        if (!Files.isReadable(filePath)) {
+            throw new NotFoundException("Evrak dosyası bulunamadı: " + id);
+        }
+
         try {
-            Path filePath = Paths.get(document.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getOriginalFileName() + "\"")
-                    .body(resource);
+            String eTag = downloadETag(document, filePath);
+            Long companyId = document.getCompany().getId();
+            MediaType mediaType = downloadMediaType(document);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .lastModified(document.getUploadDate() != null
+                            ? document.getUploadDate()
+                            : Files.getLastModifiedTime(filePath).toInstant())
+                    .cacheControl(DOWNLOAD_CACHE_CONTROL)
+                    .contentType(mediaType)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition
+                            .filename(document.getOriginalFileName(), StandardCharsets.UTF_8)
+                            .build()
+                            .toString())
+                    .header("X-Content-Type-Options", "nosniff");
+            // Tarayıcıda gösterilen içerik (ör. text/html, svg) uygulama kökeninde betik çalıştıramaz;
+            // PDF hariç tutulur çünkü tarayıcıların PDF görüntüleyicisi sandbox içinde açılmaz
+            if (!MediaType.APPLICATION_PDF.equalsTypeAndSubtype(mediaType)) {
+                response.header("Content-Security-Policy", "sandbox");
+            }
+
+            // Range (206), If-None-Match / If-Modified-Since (304) ve Accept-Ranges başlıkları
+            // Resource gövdesi için Spring MVC tarafından işlenir
+            if (document.getCodec() != StorageCodec.GZIP) {
+                return response.eTag(eTag).body(documentMetrics.meteredResource(filePath, companyId));
+            }
+
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                // Sıkıştırılmış dosya açılmadan olduğu gibi gönderilir
+                return response.eTag(eTag + "-gzip")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .body(documentMetrics.meteredResource(filePath, companyId));
+            }
+
+            // gzip kabul etmeyen istemciler için içerik akış halinde açılır (Range desteklenmez)
+            if (document.getFileSize() != null) {
+                response.contentLength(document.getFileSize());
+            }
+            StreamingResponseBody body = out -> {
+                try (InputStream in = documentMetrics.meteredStream(documentService.openContent(document), companyId)) {
+                    in.transferTo(out);
+                }
+            };
+            return response.eTag(eTag).body(body);
         } catch (IOException e) {
             throw new RuntimeException("Dosya indirilemedi", e);
         }
     }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    @Operation(summary = "Evrak küçük resmi veya ilk sayfa önizlemesi")
+    @GetMapping("/{id}/thumbnail")
+    public ResponseEntity<Resource> getThumbnail(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "THUMBNAIL") PreviewVariant variant) {
+        Document document = documentService.getDocument(id);
+        Path previewPath = variant.pathFor(Paths.get(document.getFilePath()));
+        if (!Files.isReadable(previewPath)) {
+            throw new NotFoundException("Önizleme henüz hazır değil: " + id);
+        }
+
+        try {
+            return ResponseEntity.ok()
+                    .eTag(downloadETag(document, Paths.get(document.getFilePath())) + "-" + variant.name().toLowerCase())
+                    .cacheControl(PREVIEW_CACHE_CONTROL)
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(new FileSystemResource(previewPath));
+        } catch (IOException e) {
+            throw new RuntimeException("Önizleme okunamadı", e);
+        }
+    }
+
+    // İçerik özeti varsa güçlü ETag olarak kullanılır, yoksa dosyanın değişim zamanı ve boyutundan türetilir
+    private String downloadETag(Document document, Path filePath) throws IOException {
+        if (document.getChecksum() != null) {
+            return document.getChecksum();
+        }
+        return Long.toHexString(Files.getLastModifiedTime(filePath).toMillis()) + "-" + Long.toHexString(Files.size(filePath));
+    }
+
+    private MediaType downloadMediaType(Document document) {
+        try {
+            return document.getFileType() != null
+                    ? MediaType.parseMediaType(document.getFileType())
+                    : MediaType.APPLICATION_OCTET_STREAM;
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package org.kafka.evraktakip.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.dto.UploadSessionCreateDTO;
+import org.kafka.evraktakip.dto.UploadSessionDTO;
+import org.kafka.evraktakip.service.ResumableUploadService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/documents/uploads")
+@Tag(name = "Parçalı Evrak Yükleme", description = "Kaldığı yerden devam ettirilebilen, parça parça evrak yükleme")
+public class ResumableUploadController {
+
+    private final ResumableUploadService resumableUploadService;
+
+    public ResumableUploadController(ResumableUploadService resumableUploadService) {
+        this.resumableUploadService = resumableUploadService;
+    }
+
+    @Operation(summary = "Firma için parçalı yükleme oturumu aç")
+    @PostMapping("/company/{companyId}")
+    public ResponseEntity<UploadSessionDTO> createSession(
+            @PathVariable Long companyId,
+            @Valid @RequestBody UploadSessionCreateDTO request) {
+        return new ResponseEntity<>(resumableUploadService.createSession(companyId, request), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Parça yükle (istek gövdesi parçanın kendisidir; parçalar paralel gönderilebilir)")
+    @PutMapping("/{sessionId}/chunks/{index}")
+    public ResponseEntity<Void> uploadChunk(
+            @PathVariable String sessionId,
+            @PathVariable int index,
+            HttpServletRequest request) throws IOException {
+        resumableUploadService.writeChunk(sessionId, index, request.getInputStream());
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Yükleme oturumunun durumu ve alınan parçalar")
+    @GetMapping("/{sessionId}")
+    public ResponseEntity<UploadSessionDTO> getSession(@PathVariable String sessionId) {
+        return ResponseEntity.ok(resumableUploadService.getSession(sessionId));
+    }
+
+    @Operation(summary = "Yüklemeyi tamamla ve evrak kaydını oluştur")
+    @PostMapping("/{sessionId}/complete")
+    public ResponseEntity<DocumentDTO> complete(@PathVariable String sessionId) {
+        return new ResponseEntity<>(resumableUploadService.complete(sessionId), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Yükleme oturumunu iptal et")
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abort(@PathVariable String sessionId) {
+        resumableUploadService.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
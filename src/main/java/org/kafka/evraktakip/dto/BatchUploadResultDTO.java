@@ -0,0 +1,23 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUploadResultDTO {
+    private String originalFileName;
+    private boolean success;
+    private DocumentDTO document;
+    private String errorMessage;
+
+    public static BatchUploadResultDTO success(String originalFileName, DocumentDTO document) {
+        return new BatchUploadResultDTO(originalFileName, true, document, null);
+    }
+
+    public static BatchUploadResultDTO failure(String originalFileName, String errorMessage) {
+        return new BatchUploadResultDTO(originalFileName, false, null, errorMessage);
+    }
+}
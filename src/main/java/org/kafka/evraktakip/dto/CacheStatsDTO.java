@@ -0,0 +1,18 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String name;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    // Hibernate bölge istatistiklerinde tahliye sayısı bulunmadığı için ikinci seviye önbellekte null
+    private Long evictionCount;
+    private long size;
+}
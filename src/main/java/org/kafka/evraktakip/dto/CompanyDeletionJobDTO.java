@@ -0,0 +1,19 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.Data;
+import org.kafka.evraktakip.model.CompanyDeletionJobStatus;
+import java.time.Instant;
+
+@Data
+public class CompanyDeletionJobDTO {
+    private Long id;
+    private Long companyId;
+    private CompanyDeletionJobStatus status;
+    private long totalDocuments;
+    private long deletedDocuments;
+    private long deletedFiles;
+    private long failedFiles;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -9,6 +9,9 @@ public class DocumentDTO {
     private String fileName;
     private String originalFileName;
     private String fileType;
+    private Long fileSize;
+    private String checksum;
+    private boolean fileMissing;
     private Instant uploadDate;
     private Long companyId;
     private String companyName;
@@ -0,0 +1,18 @@
+package org.kafka.evraktakip.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import java.time.Instant;
+
+// Depo dizinine önceden bırakılmış dosyalar için toplu aktarılan evrak kaydı (boyut ve özet sunucuda hesaplanır)
+@Data
+public class DocumentImportDTO {
+    @NotBlank(message = "Dosya adı boş olamaz")
+    private String originalFileName;
+
+    @NotBlank(message = "Dosya yolu boş olamaz")
+    private String filePath;
+
+    private String fileType;
+    private Instant uploadDate;
+}
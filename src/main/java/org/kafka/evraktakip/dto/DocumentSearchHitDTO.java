@@ -0,0 +1,18 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchHitDTO {
+    private Long documentId;
+    private String originalFileName;
+    private float score;
+    // Eşleşen metin parçaları (HTML kaçışlı), eşleşen kelimeler <mark> ile işaretli
+    private List<String> highlights;
+}
@@ -0,0 +1,17 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSliceDTO {
+    private List<DocumentDTO> content;
+    // Bir sonraki sayfa için istemcinin aynen geri göndereceği imleç; son sayfada null
+    private String nextCursor;
+    private boolean hasNext;
+}
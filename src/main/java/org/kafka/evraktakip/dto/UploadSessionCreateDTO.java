@@ -0,0 +1,19 @@
+package org.kafka.evraktakip.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class UploadSessionCreateDTO {
+    @NotBlank(message = "Dosya adı boş olamaz")
+    private String originalFileName;
+
+    @NotBlank(message = "Dosya tipi boş olamaz")
+    private String contentType;
+
+    @NotNull(message = "Dosya boyutu boş olamaz")
+    @Positive(message = "Dosya boyutu sıfırdan büyük olmalıdır")
+    private Long totalSize;
+}
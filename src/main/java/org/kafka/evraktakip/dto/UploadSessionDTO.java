@@ -0,0 +1,20 @@
+package org.kafka.evraktakip.dto;
+
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class UploadSessionDTO {
+    private String id;
+    private Long companyId;
+    private String originalFileName;
+    private String contentType;
+    private long totalSize;
+    private int chunkSize;
+    private int chunkCount;
+    // Alınmış parça numaraları; parça i, dosyada i * chunkSize konumundan başlar
+    private List<Integer> receivedChunks;
+    private long receivedBytes;
+    private Instant expiresAt;
+}
@@ -0,0 +1,7 @@
+package org.kafka.evraktakip.event;
+
+/**
+ * Firma ve tüm evrakları silindiğinde yayınlanır. Dinleyiciler transaction commit edildikten sonra çalışır.
+ */
+public record CompanyDeletedEvent(Long companyId) {
+}
@@ -0,0 +1,7 @@
+package org.kafka.evraktakip.event;
+
+/**
+ * Firma oluşturulduğunda ya da güncellendiğinde yayınlanır.
+ */
+public record CompanySavedEvent(Long companyId, String name, boolean created) {
+}
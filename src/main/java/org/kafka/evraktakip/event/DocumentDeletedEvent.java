@@ -0,0 +1,7 @@
+package org.kafka.evraktakip.event;
+
+/**
+ * Evrak kaydı silindiğinde yayınlanır. Dinleyiciler transaction commit edildikten sonra çalışır.
+ */
+public record DocumentDeletedEvent(Long documentId, Long companyId) {
+}
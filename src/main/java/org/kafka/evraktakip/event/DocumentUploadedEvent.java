@@ -0,0 +1,10 @@
+package org.kafka.evraktakip.event;
+
+import org.kafka.evraktakip.model.StorageCodec;
+
+/**
+ * Evrak kaydı eklendiğinde yayınlanır. Dinleyiciler transaction commit edildikten sonra çalışır.
+ */
+public record DocumentUploadedEvent(Long documentId, Long companyId, String originalFileName,
+                                    String fileType, String filePath, StorageCodec codec) {
+}
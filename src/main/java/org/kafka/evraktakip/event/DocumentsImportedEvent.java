@@ -0,0 +1,11 @@
+package org.kafka.evraktakip.event;
+
+import java.util.List;
+
+/**
+ * Toplu aktarımda her parça için bir kez yayınlanır. Kayıt tutan dinleyiciler aktarımın transaction'ı içinde,
+ * parça flush edilmeden hemen önce çalışır; böylece ekledikleri kayıtlar da parçayla birlikte yazılıp
+ * persistence context'ten temizlenir. Diğer dinleyiciler transaction commit edildikten sonra çalışır.
+ */
+public record DocumentsImportedEvent(List<DocumentUploadedEvent> documents) {
+}
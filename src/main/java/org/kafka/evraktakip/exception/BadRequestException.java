@@ -0,0 +1,12 @@
+package org.kafka.evraktakip.exception;
+
+// İstemcinin gönderdiği geçersiz bir değer için fırlatılır ve 400 olarak döner
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package org.kafka.evraktakip.mapper;
+
+import org.kafka.evraktakip.dto.CompanyDeletionJobDTO;
+import org.kafka.evraktakip.model.CompanyDeletionJob;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface CompanyDeletionJobMapper {
+    CompanyDeletionJobDTO toDto(CompanyDeletionJob job);
+}
@@ -3,9 +3,12 @@ package org.kafka.evraktakip.mapper;
 import org.kafka.evraktakip.dto.CompanyDTO;
 import org.kafka.evraktakip.model.Company;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface CompanyMapper {
     CompanyDTO toDto(Company company);
+
+    @Mapping(target = "documentCount", ignore = true)
     Company toEntity(CompanyDTO companyDTO);
 }
@@ -2,6 +2,7 @@ package org.kafka.evraktakip.mapper;
 
 import org.kafka.evraktakip.dto.DocumentDTO;
 import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.DocumentListRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -11,6 +12,8 @@ public interface DocumentMapper {
     @Mapping(source = "company.name", target = "companyName")
     DocumentDTO toDto(Document document);
 
+    DocumentDTO toDto(DocumentListRow row);
+
     @Mapping(target = "company", ignore = true)
     Document toEntity(DocumentDTO documentDTO);
 }
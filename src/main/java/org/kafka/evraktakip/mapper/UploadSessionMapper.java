@@ -0,0 +1,13 @@
+package org.kafka.evraktakip.mapper;
+
+import org.kafka.evraktakip.dto.UploadSessionDTO;
+import org.kafka.evraktakip.model.UploadSession;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface UploadSessionMapper {
+    @Mapping(target = "receivedChunks", ignore = true)
+    @Mapping(target = "receivedBytes", ignore = true)
+    UploadSessionDTO toDto(UploadSession session);
+}
@@ -0,0 +1,148 @@
+package org.kafka.evraktakip.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evrak yükleme, indirme ve listeleme ölçümleri.
+ * <p>
+ * Firma etiketi sınırlı kardinalitededir: ilk {@code metrics.company-tags.max} firma kendi id'si ile,
+ * sonrakiler {@code other} olarak etiketlenir.
+ */
+@Component
+public class DocumentMetrics {
+
+    public static final String STAGE_VALIDATION = "validation";
+    public static final String STAGE_DISK_WRITE = "disk_write";
+    public static final String STAGE_DB_INSERT = "db_insert";
+
+    private static final String OTHER_COMPANY = "other";
+
+    private final MeterRegistry registry;
+    private final int maxCompanyTags;
+    private final Set<Long> taggedCompanies = ConcurrentHashMap.newKeySet();
+
+    public DocumentMetrics(MeterRegistry registry, @Value("${metrics.company-tags.max:50}") int maxCompanyTags) {
+        this.registry = registry;
+        this.maxCompanyTags = maxCompanyTags;
+    }
+
+    public void recordUploadStage(Timer.Sample sample, String stage, Long companyId) {
+        sample.stop(Timer.builder("evrak.upload.stage")
+                .description("Evrak yükleme aşamalarının süresi")
+                .tags(Tags.of(Tag.of("stage", stage), companyTag(companyId)))
+                .register(registry));
+    }
+
+    public void recordListing(Timer.Sample sample, String mode, Long companyId, int rows) {
+        Tags tags = Tags.of(Tag.of("mode", mode), companyTag(companyId));
+        sample.stop(Timer.builder("evrak.listing.query")
+                .description("Firma evrak listeleme sorgusu süresi")
+                .tags(tags)
+                .register(registry));
+        DistributionSummary.builder("evrak.listing.rows")
+                .description("Listeleme sonucunda dönen kayıt sayısı")
+                .tags(tags)
+                .register(registry)
+                .record(rows);
+    }
+
+    /**
+     * İndirilen dosyayı, okunan bayt sayısını ve aktarım hızını ölçen bir kaynak olarak sarar.
+     * Ölçüm, gövde yazılıp akış kapandığında kaydedilir.
+     */
+    public FileSystemResource meteredResource(Path path, Long companyId) {
+        return new FileSystemResource(path) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return meteredStream(super.getInputStream(), companyId);
+            }
+        };
+    }
+
+    public InputStream meteredStream(InputStream in, Long companyId) {
+        return new MeteredInputStream(in, companyTag(companyId));
+    }
+
+    private Tag companyTag(Long companyId) {
+        if (companyId == null) {
+            return Tag.of("company", OTHER_COMPANY);
+        }
+        if (taggedCompanies.contains(companyId)) {
+            return Tag.of("company", companyId.toString());
+        }
+        synchronized (taggedCompanies) {
+            if (taggedCompanies.size() < maxCompanyTags) {
+                taggedCompanies.add(companyId);
+                return Tag.of("company", companyId.toString());
+            }
+        }
+        return Tag.of("company", OTHER_COMPANY);
+    }
+
+    private final class MeteredInputStream extends FilterInputStream {
+
+        private final Tag companyTag;
+        private final long start = System.nanoTime();
+        private long bytes;
+        private boolean recorded;
+
+        private MeteredInputStream(InputStream in, Tag companyTag) {
+            super(in);
+            this.companyTag = companyTag;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                bytes++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            long elapsed = System.nanoTime() - start;
+            Tags tags = Tags.of(companyTag);
+            DistributionSummary.builder("evrak.download.bytes")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .register(registry)
+                    .record(bytes);
+            DistributionSummary.builder("evrak.download.throughput")
+                    .description("İndirme başına aktarım hızı")
+                    .baseUnit("bytes_per_second")
+                    .tags(tags)
+                    .register(registry)
+                    .record(elapsed > 0 ? bytes * 1e9 / elapsed : 0);
+        }
+    }
+}
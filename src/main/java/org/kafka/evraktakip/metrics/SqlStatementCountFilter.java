@@ -0,0 +1,47 @@
+package org.kafka.evraktakip.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Her HTTP isteğinde çalışan SQL ifadesi sayısını, eşleşen URI şablonuna göre kaydeder
+ * (ör. {@code /api/documents/company/{companyId}}); ham URI kullanılmadığı için kardinalite sınırlıdır.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final MeterRegistry registry;
+
+    public SqlStatementCountFilter(SqlStatementMetrics sqlStatementMetrics, MeterRegistry registry) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        sqlStatementMetrics.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int statements = sqlStatementMetrics.endRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("evrak.http.sql.statements")
+                    .description("İstek başına çalıştırılan SQL ifadesi sayısı")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(statements);
+        }
+    }
+}
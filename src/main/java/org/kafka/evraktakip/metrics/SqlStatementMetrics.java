@@ -0,0 +1,78 @@
+package org.kafka.evraktakip.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate'in çalıştırdığı SQL ifadelerini türüne göre sayar ve istek başına toplamı tutar.
+ * İstek sınırları {@link SqlStatementCountFilter} tarafından belirlenir.
+ */
+@Component
+public class SqlStatementMetrics implements StatementInspector {
+
+    private static final ThreadLocal<int[]> REQUEST_COUNT = new ThreadLocal<>();
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter others;
+
+    public SqlStatementMetrics(MeterRegistry registry) {
+        this.selects = counter(registry, "select");
+        this.inserts = counter(registry, "insert");
+        this.updates = counter(registry, "update");
+        this.deletes = counter(registry, "delete");
+        this.others = counter(registry, "other");
+    }
+
+    private static Counter counter(MeterRegistry registry, String type) {
+        return Counter.builder("evrak.sql.statements")
+                .description("Hibernate tarafından çalıştırılan SQL ifadeleri")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        counterFor(sql).increment();
+        int[] count = REQUEST_COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    private Counter counterFor(String sql) {
+        String statement = sql.stripLeading();
+        if (startsWith(statement, "select") || startsWith(statement, "with")) {
+            return selects;
+        }
+        if (startsWith(statement, "insert")) {
+            return inserts;
+        }
+        if (startsWith(statement, "update")) {
+            return updates;
+        }
+        if (startsWith(statement, "delete")) {
+            return deletes;
+        }
+        return others;
+    }
+
+    private static boolean startsWith(String sql, String keyword) {
+        return sql.regionMatches(true, 0, keyword, 0, keyword.length());
+    }
+
+    void beginRequest() {
+        REQUEST_COUNT.set(new int[1]);
+    }
+
+    int endRequest() {
+        int[] count = REQUEST_COUNT.get();
+        REQUEST_COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
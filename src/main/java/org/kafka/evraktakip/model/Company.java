@@ -2,15 +2,29 @@ package org.kafka.evraktakip.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
-@Table(name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "companies", indexes = {
+        @Index(name = "idx_companies_document_count", columnList = "document_count"),
+        @Index(name = "idx_companies_name", columnList = "name")
+})
 public class Company {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "companies_seq")
+    @SequenceGenerator(name = "companies_seq", sequenceName = "companies_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String name;
+
+    // Evrak yükleme/silme sırasında atomik UPDATE ile güncellenen sayaç (bkz. CompanyDocumentCounter);
+    // entity üzerinden yazılmaz, böylece firma güncellemeleri eşzamanlı artışları ezmez
+    @Column(name = "document_count", nullable = false, columnDefinition = "bigint default 0",
+            insertable = false, updatable = false)
+    private long documentCount;
 }
@@ -0,0 +1,44 @@
+package org.kafka.evraktakip.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * Arka planda yürütülen firma silme işi ve ilerleme bilgisi.
+ */
+@Data
+@Entity
+@Table(name = "company_deletion_jobs", indexes = {
+        @Index(name = "idx_company_deletion_jobs_status", columnList = "status"),
+        @Index(name = "idx_company_deletion_jobs_company", columnList = "company_id")
+})
+public class CompanyDeletionJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "company_deletion_jobs_seq")
+    @SequenceGenerator(name = "company_deletion_jobs_seq", sequenceName = "company_deletion_jobs_seq")
+    private Long id;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private CompanyDeletionJobStatus status;
+
+    // İş oluşturulduğu andaki evrak sayısı (tahmini toplam)
+    private long totalDocuments;
+
+    private long deletedDocuments;
+
+    private long deletedFiles;
+
+    private long failedFiles;
+
+    @Column(length = 1000)
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
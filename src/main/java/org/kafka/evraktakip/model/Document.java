@@ -2,14 +2,29 @@ package org.kafka.evraktakip.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "documents")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_documents_checksum", columnList = "checksum"),
+        // Firma evraklarının keyset sayfalaması için
+        @Index(name = "idx_documents_company_upload_date_id", columnList = "company_id, upload_date DESC, id DESC"),
+        @Index(name = "idx_documents_company_file_type", columnList = "company_id, file_type"),
+        // Yükleme dizini ile kayıtların karşılaştırılması için (UploadDirectoryReconciler)
+        @Index(name = "idx_documents_file_path", columnList = "file_path")
+})
 public class Document {
+    // IDENTITY, Hibernate'in insert batching'ini devre dışı bıraktığı için pooled sequence kullanılır
+    // Partition'lı tabloda id tek başına tekil kısıtla korunamaz; documents ve documents_archive genelinde
+    // tekilliği yalnızca bu sequence sağlar (bkz. 007_documents_partitioning.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documents_seq")
+    @SequenceGenerator(name = "documents_seq", sequenceName = "documents_seq", allocationSize = 50)
     private Long id;
 
     private String fileName;
@@ -19,6 +34,21 @@ public class Document {
     private String filePath;
     
     private String fileType;
+
+    private Long fileSize;
+
+    // İçeriğin SHA-256 özeti (hex); içerik adresli depolamada dosyanın anahtarı
+    @Column(length = 64)
+    private String checksum;
+
+    // Dosyanın diskteki biçimi; null ise sıkıştırılmamış (eski kayıtlar)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private StorageCodec codec;
+
+    // Mutabakat sırasında diskte dosyası bulunamayan kayıtlar işaretlenir
+    @Column(name = "file_missing", nullable = false, columnDefinition = "boolean default false")
+    private boolean fileMissing;
     
     private Instant uploadDate;
 
@@ -0,0 +1,22 @@
+package org.kafka.evraktakip.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+@Entity
+@Table(name = "document_blobs")
+public class DocumentBlob {
+    // İçeriğin SHA-256 özeti (hex)
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    private Instant createdAt;
+}
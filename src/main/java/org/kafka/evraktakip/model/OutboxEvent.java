@@ -0,0 +1,39 @@
+package org.kafka.evraktakip.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * Dış sistemlere iletilecek değişiklik olayı. Değişikliğin kendisiyle aynı transaction'da yazılır;
+ * yayınlanmamış olaylar için kısmi indeks db/postgresql/006_outbox_events.sql içindedir.
+ */
+@Data
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType eventType;
+
+    // Olayın ait olduğu evrak ya da firmanın id'si
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    // JSON
+    @Column(columnDefinition = "text", nullable = false)
+    private String payload;
+
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,9 @@
+package org.kafka.evraktakip.model;
+
+public enum OutboxEventType {
+    DOCUMENT_UPLOADED,
+    DOCUMENT_DELETED,
+    COMPANY_CREATED,
+    COMPANY_UPDATED,
+    COMPANY_DELETED
+}
@@ -0,0 +1,34 @@
+package org.kafka.evraktakip.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+
+/**
+ * Küçük resim / önizleme üretim işi. Kuyruk veritabanında tutulduğu için yeniden başlatmalarda kaybolmaz.
+ */
+@Data
+@Entity
+@Table(name = "preview_jobs", indexes = {
+        @Index(name = "idx_preview_jobs_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class PreviewJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "preview_jobs_seq")
+    @SequenceGenerator(name = "preview_jobs_seq", sequenceName = "preview_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PreviewJobStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,8 @@
+package org.kafka.evraktakip.model;
+
+public enum PreviewJobStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    FAILED
+}
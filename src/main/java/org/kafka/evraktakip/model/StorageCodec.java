@@ -0,0 +1,10 @@
+package org.kafka.evraktakip.model;
+
+/**
+ * Evrak içeriğinin diskte hangi biçimde tutulduğu.
+ */
+public enum StorageCodec {
+    NONE,
+    // Content-Encoding: gzip ile istemciye olduğu gibi gönderilebilir
+    GZIP
+}
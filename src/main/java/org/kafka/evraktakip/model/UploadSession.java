@@ -0,0 +1,57 @@
+package org.kafka.evraktakip.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Parça parça yüklenen bir evrakın oturumu. Parçalar önceden boyutu ayrılmış tek bir dosyaya
+ * kendi konumlarına yazılır; alınan parça numaraları upload_session_chunks tablosunda tutulur.
+ */
+@Data
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_expires_at", columnList = "expires_at")
+})
+public class UploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(nullable = false)
+    private String originalFileName;
+
+    private String contentType;
+
+    private long totalSize;
+
+    private int chunkSize;
+
+    // Parçalar paralel eklendiğinden koleksiyon yalnızca okunur; eklemeler UploadSessionRepository.markChunkReceived ile yapılır.
+    // (session_id, chunk_index) birincil anahtar olduğundan aynı parça iki kez kaydedilmez
+    @ElementCollection
+    @CollectionTable(name = "upload_session_chunks", joinColumns = @JoinColumn(name = "session_id"))
+    @Column(name = "chunk_index", nullable = false)
+    private Set<Integer> receivedChunks = new HashSet<>();
+
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public int getChunkCount() {
+        return (int) ((totalSize + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Parçanın beklenen uzunluğu; son parça dışındakiler chunkSize kadardır.
+     */
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, totalSize - (long) index * chunkSize);
+    }
+}
@@ -0,0 +1,19 @@
+package org.kafka.evraktakip.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.kafka.evraktakip.model.OutboxEvent;
+import org.kafka.evraktakip.model.OutboxEventType;
+
+import java.time.Instant;
+
+/**
+ * Alıcılara iletilen olay. Aynı olay birden fazla kez iletilebileceğinden alıcılar id ile tekrarı ayıklamalıdır.
+ */
+public record ChangeEvent(long id, OutboxEventType type, Long aggregateId, Long companyId,
+                          @JsonRawValue String payload, Instant createdAt) {
+
+    static ChangeEvent of(OutboxEvent event) {
+        return new ChangeEvent(event.getId(), event.getEventType(), event.getAggregateId(), event.getCompanyId(),
+                event.getPayload(), event.getCreatedAt());
+    }
+}
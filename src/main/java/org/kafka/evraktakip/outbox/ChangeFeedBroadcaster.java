@@ -0,0 +1,149 @@
+package org.kafka.evraktakip.outbox;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aktarılan olayları Server-Sent Events abonelerine iletir. Olaylar, partinin yayınlandı olarak işaretlendiği
+ * transaction commit edildikten sonra her abonenin sınırlı kuyruğuna bırakılır ve abone başına bir sanal
+ * thread tarafından gönderilir; yavaş bir istemci ne outbox kilitlerini ne de aktarıcı thread'ini bekletir.
+ * Kuyruğu dolan abonenin bağlantısı kapatılır. Aboneler yalnızca bağlı oldukları uygulama örneğinin
+ * aktardığı olayları alır.
+ */
+@Component
+public class ChangeFeedBroadcaster implements OutboxSink {
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration timeout;
+    private final int queueCapacity;
+
+    public ChangeFeedBroadcaster(@Value("${outbox.sse.timeout:PT30M}") Duration timeout,
+                                 @Value("${outbox.sse.queue-capacity:1000}") int queueCapacity) {
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * companyId verilirse yalnızca o firmaya ait olaylar gönderilir.
+     */
+    public SseEmitter subscribe(Long companyId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, companyId, new ArrayBlockingQueue<>(queueCapacity));
+        subscriptions.add(subscription);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcast(events);
+                }
+            });
+        } else {
+            broadcast(events);
+        }
+    }
+
+    // Ara sunucular boşta kalan bağlantıyı kapatmasın, kopmuş istemciler de fark edilsin diye
+    @Scheduled(fixedDelayString = "${outbox.sse.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            enqueue(subscription, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+    }
+
+    private void broadcast(List<ChangeEvent> events) {
+        for (Subscription subscription : subscriptions) {
+            for (ChangeEvent event : events) {
+                if (subscription.companyId() != null && !subscription.companyId().equals(event.companyId())) {
+                    continue;
+                }
+                if (!enqueue(subscription, SseEmitter.event()
+                        .id(String.valueOf(event.id()))
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean enqueue(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.pending().offer(event)) {
+            // Olayları yetişemeyecek kadar yavaş okuyan istemci; yeniden bağlandığında akış baştan başlar
+            subscriptions.remove(subscription);
+            subscription.emitter().complete();
+            return false;
+        }
+        if (subscription.sending().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+        return true;
+    }
+
+    private void drain(Subscription subscription) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.pending().poll()) != null) {
+                if (!send(subscription, event)) {
+                    subscription.pending().clear();
+                    return;
+                }
+            }
+            subscription.sending().set(false);
+            // Bayrak bırakılırken kuyruğa eklenen olay kaldıysa gönderimi bu thread sürdürür
+        } while (!subscription.pending().isEmpty() && subscription.sending().compareAndSet(false, true));
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // İstemci bağlantıyı kapatmış
+            subscriptions.remove(subscription);
+            subscription.emitter().completeWithError(e);
+            return false;
+        }
+    }
+
+    private record Subscription(SseEmitter emitter, Long companyId, BlockingQueue<SseEmitter.SseEventBuilder> pending,
+                                AtomicBoolean sending) {
+
+        Subscription(SseEmitter emitter, Long companyId, BlockingQueue<SseEmitter.SseEventBuilder> pending) {
+            this(emitter, companyId, pending, new AtomicBoolean());
+        }
+    }
+}
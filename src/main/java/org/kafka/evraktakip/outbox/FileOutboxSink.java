@@ -0,0 +1,53 @@
+package org.kafka.evraktakip.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Olayları satır başına bir JSON olacak şekilde dosyanın sonuna ekler (JSON Lines). Test ortamları ve
+ * dosyayı izleyen basit alıcılar içindir; outbox.file-sink.path tanımlıysa etkindir.
+ */
+@Component
+@ConditionalOnProperty("outbox.file-sink.path")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(@Value("${outbox.file-sink.path}") String path, ObjectMapper objectMapper) {
+        this.file = Paths.get(path).toAbsolutePath().normalize();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (ChangeEvent event : events) {
+            objectMapper.writeValue(lines, event);
+            lines.write('\n');
+        }
+
+        Files.createDirectories(file.getParent());
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // Parti yayınlandı olarak işaretlenmeden önce diske ulaşmış olmalı
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.kafka.evraktakip.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Outbox tablosunu partiler halinde boşaltır. Kuyrukta olay kaldıkça beklemeden bir sonraki partiye geçer.
+ * Kilitli satırlar atlandığı için birden fazla uygulama örneğinde aynı anda çalışabilir.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxService outboxService,
+                       @Value("${outbox.batch-size:200}") int batchSize,
+                       @Value("${outbox.retention:P7D}") Duration retention) {
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public void poll() {
+        try {
+            while (outboxService.relayBatch(batchSize) == batchSize) {
+                // Tam parti geldiyse kuyrukta olay kalmış olabilir
+            }
+        } catch (Exception e) {
+            // Parti yayınlanmamış kalır, sonraki turda yeniden denenir
+            logger.warn("Outbox olayları aktarılamadı", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${outbox.cleanup-interval:PT1H}",
+               fixedDelayString = "${outbox.cleanup-interval:PT1H}")
+    public void deletePublished() {
+        int deleted = outboxService.deletePublished(retention);
+        if (deleted > 0) {
+            logger.info("Yayınlanmış {} outbox olayı silindi", deleted);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.kafka.evraktakip.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.kafka.evraktakip.event.CompanyDeletedEvent;
+import org.kafka.evraktakip.event.CompanySavedEvent;
+import org.kafka.evraktakip.event.DocumentDeletedEvent;
+import org.kafka.evraktakip.event.DocumentUploadedEvent;
+import org.kafka.evraktakip.event.DocumentsImportedEvent;
+import org.kafka.evraktakip.model.OutboxEvent;
+import org.kafka.evraktakip.model.OutboxEventType;
+import org.kafka.evraktakip.repository.OutboxEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Transactional outbox. Olay kaydı, değişikliği yapan transaction'ın içinde eklenir; böylece değişiklik
+ * commit edildiyse olayı da kalıcıdır, geri alındıysa olay da yoktur. Olaylar {@link OutboxRelay} tarafından
+ * partiler halinde {@link OutboxSink} hedeflerine aktarılır.
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         List<OutboxSink> sinks,
+                         ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.objectMapper = objectMapper;
+    }
+
+    // Aşağıdaki dinleyiciler değişikliğin transaction'ı içinde çalışır
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        append(OutboxEventType.DOCUMENT_UPLOADED, event.documentId(), event.companyId(),
+                new DocumentPayload(event.documentId(), event.companyId(), event.originalFileName(), event.fileType()));
+    }
+
+    // Toplu aktarımın transaction'ı içinde, parça flush edilmeden önce çalışır
+    @EventListener
+    public void onDocumentsImported(DocumentsImportedEvent event) {
+        List<OutboxEvent> events = event.documents().stream()
+                .map(document -> newEvent(OutboxEventType.DOCUMENT_UPLOADED, document.documentId(),
+                        document.companyId(), new DocumentPayload(document.documentId(), document.companyId(),
+                                document.originalFileName(), document.fileType())))
+                .toList();
+        outboxEventRepository.saveAll(events);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDocumentDeleted(DocumentDeletedEvent event) {
+        append(OutboxEventType.DOCUMENT_DELETED, event.documentId(), event.companyId(),
+                new DocumentPayload(event.documentId(), event.companyId(), null, null));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCompanySaved(CompanySavedEvent event) {
+        append(event.created() ? OutboxEventType.COMPANY_CREATED : OutboxEventType.COMPANY_UPDATED,
+                event.companyId(), event.companyId(), new CompanyPayload(event.companyId(), event.name()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCompanyDeleted(CompanyDeletedEvent event) {
+        append(OutboxEventType.COMPANY_DELETED, event.companyId(), event.companyId(),
+                new CompanyPayload(event.companyId(), null));
+    }
+
+    /**
+     * Yayınlanmamış en eski olaylardan bir partiyi kilitleyip hedeflere aktarır ve yayınlandı olarak işaretler.
+     * Kilit transaction sonuna kadar tutulur; aynı anda çalışan aktarıcılar farklı partiler alır. Bir hedef
+     * (checked dahil) hata fırlatırsa transaction geri alınır ve parti yayınlanmamış kalır.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int relayBatch(int batchSize) throws Exception {
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<ChangeEvent> changes = events.stream().map(ChangeEvent::of).toList();
+        for (OutboxSink sink : sinks) {
+            sink.publish(changes);
+        }
+
+        Instant now = Instant.now();
+        events.forEach(event -> event.setPublishedAt(now));
+        return events.size();
+    }
+
+    public int deletePublished(Duration retention) {
+        return outboxEventRepository.deletePublishedBefore(Instant.now().minus(retention));
+    }
+
+    private void append(OutboxEventType type, Long aggregateId, Long companyId, Object payload) {
+        outboxEventRepository.save(newEvent(type, aggregateId, companyId, payload));
+    }
+
+    private OutboxEvent newEvent(OutboxEventType type, Long aggregateId, Long companyId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setAggregateId(aggregateId);
+        event.setCompanyId(companyId);
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record DocumentPayload(Long documentId, Long companyId, String originalFileName, String fileType) {
+    }
+
+    private record CompanyPayload(Long companyId, String name) {
+    }
+}
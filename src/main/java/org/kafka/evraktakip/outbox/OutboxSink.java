@@ -0,0 +1,17 @@
+package org.kafka.evraktakip.outbox;
+
+import java.util.List;
+
+/**
+ * Outbox olaylarının aktarıldığı hedef (ör. mesaj kuyruğu, dosya, SSE aboneleri). Her {@code OutboxSink}
+ * bean'i tüm olayları en az bir kez alır; tekrar gelen olaylar id ile ayırt edilebilir. Bir parti içinde
+ * olaylar id sırasındadır, ancak id'ler havuzlanmış sequence'tan (allocationSize 50) alındığı ve
+ * transaction'lar farklı sırada commit edilebildiği için id sırası commit sırası değildir: daha önce
+ * commit edilmiş bir değişikliğin olayı daha büyük id ile, daha sonraki bir partide gelebilir. Sıraya
+ * ihtiyaç duyan hedefler olay yerine güncel durumu okumalıdır. Metot hata fırlatırsa parti yayınlanmamış
+ * sayılır ve sonraki turda (diğer hedeflere de) yeniden gönderilir.
+ */
+public interface OutboxSink {
+
+    void publish(List<ChangeEvent> events) throws Exception;
+}
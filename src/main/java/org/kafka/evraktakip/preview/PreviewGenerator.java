@@ -0,0 +1,71 @@
+package org.kafka.evraktakip.preview;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Görsel ve PDF dosyaları için küçük resim ve ilk sayfa önizlemesi üretir.
+ */
+@Component
+public class PreviewGenerator {
+
+    // İlk sayfa en büyük önizleme genişliğine yetecek çözünürlükte çizilir
+    private static final float PDF_RENDER_DPI = 110;
+
+    public static boolean supports(String contentType) {
+        return contentType != null && (contentType.startsWith("image/") || contentType.equals("application/pdf"));
+    }
+
+    public void generate(Path source, String contentType) throws IOException {
+        BufferedImage image = contentType.equals("application/pdf") ? renderFirstPage(source) : ImageIO.read(source.toFile());
+        if (image == null) {
+            throw new IOException("Desteklenmeyen görsel biçimi: " + contentType);
+        }
+
+        for (PreviewVariant variant : PreviewVariant.values()) {
+            write(scale(image, variant.width()), variant.pathFor(source));
+        }
+    }
+
+    private BufferedImage renderFirstPage(Path source) throws IOException {
+        try (PDDocument pdf = PDDocument.load(source.toFile())) {
+            return new PDFRenderer(pdf).renderImageWithDPI(0, PDF_RENDER_DPI, ImageType.RGB);
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int maxWidth) {
+        int width = Math.min(maxWidth, image.getWidth());
+        int height = Math.max(1, (int) ((long) image.getHeight() * width / image.getWidth()));
+
+        // JPEG saydamlık desteklemediği için beyaz zemin üzerine çizilir
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        ImageIO.write(image, "jpg", temp.toFile());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,98 @@
+package org.kafka.evraktakip.preview;
+
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.model.PreviewJob;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bekleyen önizleme işlerini kuyruktan alıp sınırlı sayıda thread ile işler. Kuyruktan yalnızca
+ * boştaki işçi sayısı kadar iş alınır; iş birikse bile bellek ve CPU kullanımı sabit kalır.
+ */
+@Component
+public class PreviewJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewJobWorker.class);
+
+    private final PreviewService previewService;
+    private final PreviewGenerator previewGenerator;
+    private final DocumentRepository documentRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore permits;
+    private final Duration staleAfter;
+    private final Duration retention;
+
+    public PreviewJobWorker(PreviewService previewService,
+                            PreviewGenerator previewGenerator,
+                            DocumentRepository documentRepository,
+                            @Qualifier("previewExecutor") ThreadPoolTaskExecutor executor,
+                            @Value("${preview.concurrency:2}") int concurrency,
+                            @Value("${preview.stale-after:PT10M}") Duration staleAfter,
+                            @Value("${preview.retention:P7D}") Duration retention) {
+        this.previewService = previewService;
+        this.previewGenerator = previewGenerator;
+        this.documentRepository = documentRepository;
+        this.executor = executor;
+        this.permits = new Semaphore(concurrency);
+        this.staleAfter = staleAfter;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${preview.poll-interval:PT2S}")
+    public void poll() {
+        int free = permits.availablePermits();
+        if (free == 0) {
+            return;
+        }
+
+        List<PreviewJob> jobs = previewService.claim(free, staleAfter);
+        for (PreviewJob job : jobs) {
+            permits.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    process(job);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    @Scheduled(initialDelayString = "${preview.cleanup-interval:PT1H}",
+               fixedDelayString = "${preview.cleanup-interval:PT1H}")
+    public void deleteFinished() {
+        int deleted = previewService.deleteFinished(retention);
+        if (deleted > 0) {
+            logger.info("Tamamlanmış {} önizleme işi silindi", deleted);
+        }
+    }
+
+    private void process(PreviewJob job) {
+        Optional<Document> document = documentRepository.findById(job.getDocumentId());
+        if (document.isEmpty()) {
+            // Evrak bu arada silinmiş
+            previewService.markDone(job.getId());
+            return;
+        }
+
+        try {
+            previewGenerator.generate(Paths.get(document.get().getFilePath()), document.get().getFileType());
+            previewService.markDone(job.getId());
+        } catch (Exception e) {
+            logger.warn("Önizleme üretilemedi: evrak {}", job.getDocumentId(), e);
+            previewService.markFailed(job.getId());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.kafka.evraktakip.preview;
+
+import jakarta.transaction.Transactional;
+import org.kafka.evraktakip.event.DocumentUploadedEvent;
+import org.kafka.evraktakip.event.DocumentsImportedEvent;
+import org.kafka.evraktakip.model.PreviewJob;
+import org.kafka.evraktakip.model.PreviewJobStatus;
+import org.kafka.evraktakip.repository.PreviewJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Önizleme iş kuyruğunun veritabanı tarafı. İş kaydı, evrak kaydıyla aynı transaction'da eklenir;
+ * böylece yükleme commit edilmişse işi de kalıcıdır.
+ */
+@Service
+public class PreviewService {
+
+    private final PreviewJobRepository previewJobRepository;
+    private final int maxAttempts;
+
+    public PreviewService(PreviewJobRepository previewJobRepository,
+                          @Value("${preview.max-attempts:3}") int maxAttempts) {
+        this.previewJobRepository = previewJobRepository;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // Yüklemenin transaction'ı içinde çalışır
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        if (!PreviewGenerator.supports(event.fileType())) {
+            return;
+        }
+        previewJobRepository.save(newJob(event.documentId()));
+    }
+
+    // Toplu aktarımın transaction'ı içinde, parça flush edilmeden önce çalışır
+    @EventListener
+    public void onDocumentsImported(DocumentsImportedEvent event) {
+        List<PreviewJob> jobs = event.documents().stream()
+                .filter(document -> PreviewGenerator.supports(document.fileType()))
+                .map(document -> newJob(document.documentId()))
+                .toList();
+        previewJobRepository.saveAll(jobs);
+    }
+
+    @Transactional
+    public List<PreviewJob> claim(int limit, Duration staleAfter) {
+        previewJobRepository.requeueStale(Instant.now().minus(staleAfter));
+
+        List<PreviewJob> jobs = previewJobRepository.lockPending(limit);
+        for (PreviewJob job : jobs) {
+            job.setStatus(PreviewJobStatus.PROCESSING);
+            job.setUpdatedAt(Instant.now());
+        }
+        return jobs;
+    }
+
+    @Transactional
+    public void markDone(Long jobId) {
+        previewJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(PreviewJobStatus.DONE);
+            job.setUpdatedAt(Instant.now());
+        });
+    }
+
+    public int deleteFinished(Duration retention) {
+        return previewJobRepository.deleteFinishedBefore(Instant.now().minus(retention));
+    }
+
+    @Transactional
+    public void markFailed(Long jobId) {
+        previewJobRepository.findById(jobId).ifPresent(job -> {
+            job.setAttempts(job.getAttempts() + 1);
+            job.setUpdatedAt(Instant.now());
+            if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(PreviewJobStatus.FAILED);
+            } else {
+                // Artan bekleme ile yeniden denenir
+                job.setStatus(PreviewJobStatus.PENDING);
+                job.setNextAttemptAt(Instant.now().plus(Duration.ofMinutes(1L << job.getAttempts())));
+            }
+        });
+    }
+
+    private static PreviewJob newJob(Long documentId) {
+        PreviewJob job = new PreviewJob();
+        job.setDocumentId(documentId);
+        job.setStatus(PreviewJobStatus.PENDING);
+        job.setNextAttemptAt(Instant.now());
+        job.setUpdatedAt(Instant.now());
+        return job;
+    }
+}
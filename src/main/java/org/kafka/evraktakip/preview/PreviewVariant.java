@@ -0,0 +1,42 @@
+package org.kafka.evraktakip.preview;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Üretilen görseller, kaynak dosyanın yanında "&lt;dosya&gt;.&lt;sonek&gt;.jpg" adıyla saklanır.
+ */
+public enum PreviewVariant {
+    THUMBNAIL("thumb", 200),
+    PREVIEW("preview", 1024);
+
+    private final String suffix;
+    private final int width;
+
+    PreviewVariant(String suffix, int width) {
+        this.suffix = suffix;
+        this.width = width;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public Path pathFor(Path source) {
+        return source.resolveSibling(source.getFileName() + "." + suffix + ".jpg");
+    }
+
+    /**
+     * Dosya bir önizleme görseli ise ait olduğu kaynak dosyanın yolunu döner.
+     */
+    public static Optional<Path> sourceOf(Path file) {
+        String name = file.getFileName().toString();
+        for (PreviewVariant variant : values()) {
+            String ending = "." + variant.suffix + ".jpg";
+            if (name.endsWith(ending) && name.length() > ending.length()) {
+                return Optional.of(file.resolveSibling(name.substring(0, name.length() - ending.length())));
+            }
+        }
+        return Optional.empty();
+    }
+}
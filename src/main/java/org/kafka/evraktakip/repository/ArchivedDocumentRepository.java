@@ -0,0 +1,164 @@
+package org.kafka.evraktakip.repository;
+
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.specification.LikePatterns;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Arşivlenmiş evraklar (documents_archive). Tablo JPA entity'si olmadığı için JDBC ile okunur;
+ * filtreler DocumentSpecifications ile aynıdır ve upload_date koşulları sayesinde yalnızca ilgili aylara
+ * ait partition'lar taranır.
+ */
+@Repository
+public class ArchivedDocumentRepository {
+
+    private static final String LIST_COLUMNS =
+            "d.id, d.file_name, d.original_file_name, d.file_type, d.file_size, d.checksum, d.file_missing, " +
+            "d.upload_date, d.company_id, c.name as company_name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArchivedDocumentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Filtreye uyan kayıtlar, (upload_date, id) azalan sırada. Cursor verilirse yalnızca ondan sonraki
+     * kayıtlar okunur.
+     */
+    public List<DocumentListRow> findRows(Filter filter, Instant afterUploadDate, Long afterId, long offset, int limit) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select ").append(LIST_COLUMNS)
+                .append(" from documents_archive d join companies c on c.id = d.company_id");
+        appendWhere(sql, args, filter);
+        if (afterUploadDate != null) {
+            sql.append(" and (d.upload_date < ? or (d.upload_date = ? and d.id < ?))");
+            args.add(Timestamp.from(afterUploadDate));
+            args.add(Timestamp.from(afterUploadDate));
+            args.add(afterId);
+        }
+        sql.append(" order by d.upload_date desc, d.id desc offset ? limit ?");
+        args.add(offset);
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new DocumentListRow(
+                rs.getLong("id"),
+                rs.getString("file_name"),
+                rs.getString("original_file_name"),
+                rs.getString("file_type"),
+                rs.getObject("file_size", Long.class),
+                rs.getString("checksum"),
+                rs.getBoolean("file_missing"),
+                toInstant(rs.getTimestamp("upload_date")),
+                rs.getLong("company_id"),
+                rs.getString("company_name")), args.toArray());
+    }
+
+    public long count(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select count(*) from documents_archive d");
+        appendWhere(sql, args, filter);
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Arşivlenmiş evrakı indirme/önizleme için salt okunur bir (yönetilmeyen) Document olarak döner.
+     */
+    public Optional<Document> findById(Long id) {
+        return jdbcTemplate.query("""
+                        select d.*, c.name as company_name from documents_archive d
+                        join companies c on c.id = d.company_id where d.id = ?""",
+                (rs, rowNum) -> {
+                    Company company = new Company();
+                    company.setId(rs.getLong("company_id"));
+                    company.setName(rs.getString("company_name"));
+
+                    Document document = new Document();
+                    document.setId(rs.getLong("id"));
+                    document.setFileName(rs.getString("file_name"));
+                    document.setOriginalFileName(rs.getString("original_file_name"));
+                    document.setFilePath(rs.getString("file_path"));
+                    document.setFileType(rs.getString("file_type"));
+                    document.setFileSize(rs.getObject("file_size", Long.class));
+                    document.setChecksum(rs.getString("checksum"));
+                    String codec = rs.getString("codec");
+                    document.setCodec(codec != null ? StorageCodec.valueOf(codec) : null);
+                    document.setFileMissing(rs.getBoolean("file_missing"));
+                    document.setUploadDate(toInstant(rs.getTimestamp("upload_date")));
+                    document.setCompany(company);
+                    return document;
+                }, id).stream().findFirst();
+    }
+
+    // Firma silme (CompanyDeletionService) için
+
+    public List<DocumentFileRef> findFileRefsByCompany(Long companyId, int limit) {
+        return jdbcTemplate.query(
+                "select id, file_path, checksum from documents_archive where company_id = ? order by id limit ?",
+                (rs, rowNum) -> new DocumentFileRef(rs.getLong("id"), rs.getString("file_path"), rs.getString("checksum")),
+                companyId, limit);
+    }
+
+    public int deleteAllByIdIn(List<Long> ids) {
+        return jdbcTemplate.update("delete from documents_archive where id = any(?)", (Object) ids.toArray(Long[]::new));
+    }
+
+    public boolean existsByCompanyId(Long companyId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists(select 1 from documents_archive where company_id = ?)", Boolean.class, companyId));
+    }
+
+    // Verilen yollardan hangilerinin bir arşiv kaydına ait olduğunu döner (bkz. UploadDirectoryReconciler)
+    public List<String> findExistingFilePaths(Collection<String> paths) {
+        return jdbcTemplate.queryForList("select file_path from documents_archive where file_path = any(?)",
+                String.class, (Object) paths.toArray(String[]::new));
+    }
+
+    // Aynı içeriğe sahip arşiv kayıtları soğuk depolamada tek dosyayı paylaşır
+    public boolean isFileReferenced(String filePath) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists(select 1 from documents_archive where file_path = ?)", Boolean.class, filePath));
+    }
+
+    private static void appendWhere(StringBuilder sql, List<Object> args, Filter filter) {
+        sql.append(" where d.company_id = ?");
+        args.add(filter.companyId());
+        if (filter.searchTerm() != null && !filter.searchTerm().isEmpty()) {
+            sql.append(" and d.original_file_name ilike ? escape '\\'");
+            args.add(LikePatterns.contains(filter.searchTerm()));
+        }
+        if (filter.fileType() != null && !filter.fileType().isEmpty()) {
+            sql.append(" and d.file_type = ?");
+            args.add(filter.fileType());
+        }
+        if (filter.uploadedFrom() != null) {
+            sql.append(" and d.upload_date >= ?");
+            args.add(Timestamp.from(filter.uploadedFrom()));
+        }
+        if (filter.uploadedTo() != null) {
+            sql.append(" and d.upload_date < ?");
+            args.add(Timestamp.from(filter.uploadedTo()));
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    /**
+     * Listeleme filtresi; tarih sınırları [uploadedFrom, uploadedTo) aralığıdır.
+     */
+    public record Filter(Long companyId, String searchTerm, String fileType, Instant uploadedFrom, Instant uploadedTo) {
+    }
+}
@@ -0,0 +1,23 @@
+package org.kafka.evraktakip.repository;
+
+import org.kafka.evraktakip.model.CompanyDeletionJob;
+import org.kafka.evraktakip.model.CompanyDeletionJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CompanyDeletionJobRepository extends JpaRepository<CompanyDeletionJob, Long> {
+
+    // Bekleyen ya da çalışırken uygulaması kapanmış (uzun süredir ilerlemeyen) iş; kilitli satırlar atlanır
+    @Query(value = "select * from company_deletion_jobs where status = 'PENDING' " +
+                   "or (status = 'RUNNING' and updated_at < :staleBefore) " +
+                   "order by id limit 1 for update skip locked",
+           nativeQuery = true)
+    Optional<CompanyDeletionJob> lockNext(@Param("staleBefore") Instant staleBefore);
+
+    Optional<CompanyDeletionJob> findFirstByCompanyIdAndStatusIn(Long companyId, Collection<CompanyDeletionJobStatus> statuses);
+}
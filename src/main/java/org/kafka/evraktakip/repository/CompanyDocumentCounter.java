@@ -0,0 +1,91 @@
+package org.kafka.evraktakip.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.kafka.evraktakip.config.CacheConfig;
+import org.kafka.evraktakip.model.Company;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * companies.document_count sayacını atomik UPDATE ile günceller.
+ * <p>
+ * Güncelleme JPQL yerine JDBC ile yapılır: Hibernate toplu JPQL güncellemelerinde Company ikinci seviye
+ * önbelleğinin tamamını temizlediği için her yüklemede önbellek boşalırdı. JdbcTemplate, JPA
+ * transaction'ına bağlı aynı bağlantıyı kullanır. Company.documentCount entity tarafından yazılmaz
+ * (updatable = false), bu yüzden firma güncellemeleri bu sayaçtaki artışları ezemez; ilgili firmanın
+ * "companies" önbelleği ve Hibernate ikinci seviye önbellek kaydı commit sonrasında temizlenir.
+ */
+@Repository
+public class CompanyDocumentCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CompanyDocumentCounter(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void add(Long companyId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        jdbcTemplate.update(
+                "update companies set document_count = greatest(document_count + ?, 0) where id = ?",
+                delta, companyId);
+
+        // Commit'ten önce temizlenirse araya giren bir okuma eski değeri yeniden önbelleğe alabilirdi
+        afterCommit(() -> {
+            Cache companies = cacheManager.getCache(CacheConfig.COMPANIES);
+            if (companies != null) {
+                companies.evict(companyId);
+            }
+            entityManagerFactory.getCache().evict(Company.class, companyId);
+        });
+    }
+
+    /**
+     * Arşiv etkinken sayaç, documents ve documents_archive kayıtlarının toplamıyla düzeltilir
+     * (bkz. DocumentCountReconciler). Düzeltilen firma sayısını döner.
+     */
+    public int reconcileWithArchive(long fromId, long toId) {
+        int repaired = jdbcTemplate.update("""
+                update companies c set document_count = n.total
+                from (select c2.id,
+                             (select count(*) from documents d where d.company_id = c2.id)
+                           + (select count(*) from documents_archive a where a.company_id = c2.id) as total
+                      from companies c2 where c2.id between ? and ?) n
+                where c.id = n.id and c.document_count <> n.total""", fromId, toId);
+
+        if (repaired > 0) {
+            afterCommit(() -> {
+                Cache companies = cacheManager.getCache(CacheConfig.COMPANIES);
+                if (companies != null) {
+                    companies.clear();
+                }
+                entityManagerFactory.getCache().evict(Company.class);
+            });
+        }
+        return repaired;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
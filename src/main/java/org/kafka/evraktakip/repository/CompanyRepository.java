@@ -3,8 +3,24 @@ package org.kafka.evraktakip.repository;
 import org.kafka.evraktakip.model.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company> {
+
+    @Query("select coalesce(max(c.id), 0) from Company c")
+    long findMaxId();
+
+    // Sayaçta kayma olan firmaları id aralığı bazında düzeltir; her çağrı kendi transaction'ında çalışır.
+    // Toplu JPQL güncellemesi olduğu için Company ikinci seviye önbelleği de temizlenir.
+    @Transactional
+    @Modifying
+    @Query("update Company c set c.documentCount = (select count(d) from Document d where d.company = c) " +
+           "where c.id between :fromId and :toId " +
+           "and c.documentCount <> (select count(d) from Document d where d.company = c)")
+    int reconcileDocumentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -0,0 +1,49 @@
+package org.kafka.evraktakip.repository;
+
+import jakarta.persistence.LockModeType;
+import org.kafka.evraktakip.model.DocumentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * İçerik referans sayıları. Referans ekleme (upsert) ve içerik silme aynı satırı kilitler; böylece bir
+ * içeriğin dosyası, ona referans ekleyen bir transaction sürerken silinemez.
+ */
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    @Modifying
+    @Query(value = "insert into document_blobs (hash, size, ref_count, created_at) values (:hash, :size, 1, now()) " +
+                   "on conflict (hash) do update set ref_count = document_blobs.ref_count + 1",
+           nativeQuery = true)
+    void addReference(@Param("hash") String hash, @Param("size") long size);
+
+    // Kayıt yoksa referanssız olarak eklenir; aynı özet için commit edilmemiş bir ekleme varsa onun bitmesi beklenir
+    @Modifying
+    @Query(value = "insert into document_blobs (hash, size, ref_count, created_at) values (:hash, 0, 0, now()) " +
+                   "on conflict (hash) do nothing",
+           nativeQuery = true)
+    void insertUnreferenced(@Param("hash") String hash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from DocumentBlob b where b.hash = :hash")
+    Optional<DocumentBlob> findByIdForUpdate(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update DocumentBlob b set b.refCount = b.refCount - 1 where b.hash = :hash and b.refCount > 0")
+    int removeReference(@Param("hash") String hash);
+
+    @Modifying
+    @Query("update DocumentBlob b set b.refCount = b.refCount - :count where b.hash = :hash")
+    int removeReferences(@Param("hash") String hash, @Param("count") int count);
+
+    boolean existsByHashAndRefCountLessThanEqual(String hash, long refCount);
+
+    @Modifying
+    @Query("delete from DocumentBlob b where b.hash = :hash and b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -0,0 +1,7 @@
+package org.kafka.evraktakip.repository;
+
+/**
+ * Evrak silinirken dosyasını bulmak için gereken alanlar.
+ */
+public record DocumentFileRef(Long id, String filePath, String checksum) {
+}
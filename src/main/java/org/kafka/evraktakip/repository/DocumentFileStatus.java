@@ -0,0 +1,7 @@
+package org.kafka.evraktakip.repository;
+
+/**
+ * Evrak kaydının dosya yolu ve dosyanın en son mutabakattaki durumu.
+ */
+public record DocumentFileStatus(Long id, String filePath, boolean fileMissing) {
+}
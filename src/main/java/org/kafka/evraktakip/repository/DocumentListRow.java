@@ -0,0 +1,11 @@
+package org.kafka.evraktakip.repository;
+
+import java.time.Instant;
+
+/**
+ * Evrak listelerinde gösterilen kolonlar; entity oluşturulmadan doğrudan sorgudan doldurulur.
+ */
+public record DocumentListRow(Long id, String fileName, String originalFileName, String fileType, Long fileSize,
+                              String checksum, boolean fileMissing, Instant uploadDate,
+                              Long companyId, String companyName) {
+}
@@ -0,0 +1,77 @@
+package org.kafka.evraktakip.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * DocumentRepository ile aynı Specification filtrelerini kullanarak evrak listesini {@link DocumentListRow}
+ * olarak okur. Yalnızca listede gösterilen kolonlar seçilir ve firma adı join ile alınır; böylece her satır
+ * için entity oluşturma, persistence context kaydı ve Company proxy'si başlatma maliyeti olmaz.
+ */
+@Repository
+public class DocumentListingQuery {
+
+    private final EntityManager entityManager;
+
+    public DocumentListingQuery(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public Page<DocumentListRow> findAll(Specification<Document> spec, Pageable pageable) {
+        TypedQuery<DocumentListRow> query = rowQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        // Sayım, sayfa tek başına toplamı belli etmiyorsa (ör. son sayfa değilse) çalıştırılır
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    public List<DocumentListRow> findAll(Specification<Document> spec, Sort sort, int limit) {
+        return rowQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<DocumentListRow> rowQuery(Specification<Document> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DocumentListRow> query = cb.createQuery(DocumentListRow.class);
+        Root<Document> root = query.from(Document.class);
+        Join<Document, Company> company = root.join("company");
+
+        query.select(cb.construct(DocumentListRow.class,
+                        root.get("id"), root.get("fileName"), root.get("originalFileName"), root.get("fileType"),
+                        root.get("fileSize"), root.get("checksum"), root.get("fileMissing"), root.get("uploadDate"),
+                        company.get("id"), company.get("name")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private long count(Specification<Document> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Document> root = query.from(Document.class);
+        query.select(cb.count(root))
+                .where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -2,12 +2,46 @@ package org.kafka.evraktakip.repository;
 
 import org.kafka.evraktakip.model.Company;
 import org.kafka.evraktakip.model.Document;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface DocumentRepository extends JpaRepository<Document, Long>, JpaSpecificationExecutor<Document> {
     Page<Document> findByCompany(Company company, Pageable pageable);
     Long countByCompany(Company company);
+
+    // Tüm tabloyu id sırasıyla parça parça okumak için (keyset)
+    List<Document> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<DocumentFileRef> findByCompanyIdOrderByIdAsc(Long companyId, Limit limit);
+
+    boolean existsByCompanyId(Long companyId);
+
+    // Verilen yollardan hangilerinin bir evrak kaydına ait olduğunu döner
+    @Query("select d.filePath from Document d where d.filePath in :paths")
+    List<String> findExistingFilePaths(@Param("paths") Collection<String> paths);
+
+    @Query("select new org.kafka.evraktakip.repository.DocumentFileStatus(d.id, d.filePath, d.fileMissing) " +
+           "from Document d where d.id > :afterId order by d.id")
+    List<DocumentFileStatus> findFileStatusesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Yalnızca durumu değişen kayıtlar için çağrılır; toplu güncelleme Document önbellek bölgesini temizler
+    @Transactional
+    @Modifying
+    @Query("update Document d set d.fileMissing = :missing where d.id in :ids")
+    int updateFileMissing(@Param("ids") Collection<Long> ids, @Param("missing") boolean missing);
+
+    // Toplu JPQL silme; Document ikinci seviye önbellek bölgesi Hibernate tarafından temizlenir
+    @Modifying
+    @Query("delete from Document d where d.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,25 @@
+package org.kafka.evraktakip.repository;
+
+import org.kafka.evraktakip.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Birden fazla aktarıcı aynı anda çalışabilir; birinin kilitlediği olayları diğerleri atlar
+    @Query(value = "select * from outbox_events where published_at is null " +
+                   "order by id limit :limit for update skip locked",
+           nativeQuery = true)
+    List<OutboxEvent> lockUnpublished(@Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
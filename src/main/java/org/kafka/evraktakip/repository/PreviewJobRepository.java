@@ -0,0 +1,33 @@
+package org.kafka.evraktakip.repository;
+
+import org.kafka.evraktakip.model.PreviewJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PreviewJobRepository extends JpaRepository<PreviewJob, Long> {
+
+    // Birden fazla uygulama örneği aynı işi almasın diye kilitli satırlar atlanır
+    @Query(value = "select * from preview_jobs where status = 'PENDING' and next_attempt_at <= now() " +
+                   "order by id limit :limit for update skip locked",
+           nativeQuery = true)
+    List<PreviewJob> lockPending(@Param("limit") int limit);
+
+    // Çalışırken uygulama kapanan işler yeniden kuyruğa alınır
+    @Modifying
+    @Query("update PreviewJob j set j.status = org.kafka.evraktakip.model.PreviewJobStatus.PENDING " +
+           "where j.status = org.kafka.evraktakip.model.PreviewJobStatus.PROCESSING and j.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") Instant staleBefore);
+
+    // Tamamlanmış ve vazgeçilmiş işler saklama süresi dolunca silinir
+    @Transactional
+    @Modifying
+    @Query("delete from PreviewJob j where j.status in (org.kafka.evraktakip.model.PreviewJobStatus.DONE, " +
+           "org.kafka.evraktakip.model.PreviewJobStatus.FAILED) and j.updatedAt < :before")
+    int deleteFinishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,37 @@
+package org.kafka.evraktakip.repository;
+
+import jakarta.persistence.LockModeType;
+import org.kafka.evraktakip.model.UploadSession;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Aynı parça yeniden gönderildiğinde hata vermez; paralel parça yüklemeleri oturum satırını kilitlemez
+    @Transactional
+    @Modifying
+    @Query(value = "insert into upload_session_chunks (session_id, chunk_index) values (:sessionId, :index) " +
+                   "on conflict do nothing",
+           nativeQuery = true)
+    int markChunkReceived(@Param("sessionId") String sessionId, @Param("index") int index);
+
+    @Query(value = "select chunk_index from upload_session_chunks where session_id = :sessionId order by chunk_index",
+           nativeQuery = true)
+    List<Integer> findReceivedChunks(@Param("sessionId") String sessionId);
+
+    // Tamamlama ile iptal/süre aşımı temizliğinin aynı anda çalışmaması için
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UploadSession s where s.id = :id")
+    Optional<UploadSession> findByIdForUpdate(@Param("id") String id);
+
+    List<UploadSession> findByExpiresAtBefore(Instant now, Limit limit);
+}
@@ -0,0 +1,170 @@
+package org.kafka.evraktakip.search;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.tr.TurkishAnalyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.FSDirectory;
+import org.kafka.evraktakip.dto.DocumentSearchHitDTO;
+import org.kafka.evraktakip.exception.BadRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Evrak içeriklerinin diskteki Lucene indeksi. Her evrak, evrak id'si ile anahtarlanır ve
+ * firma id'si ile filtrelenir. Değişiklikler hemen aranabilir olur, diske ise periyodik olarak commit edilir;
+ * commit edilmemiş kayıplar indeks yeniden oluşturularak telafi edilir.
+ */
+@Component
+public class DocumentContentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentContentIndex.class);
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_COMPANY_ID = "companyId";
+    static final String FIELD_FILE_NAME = "fileName";
+    static final String FIELD_CONTENT = "content";
+
+    private static final int MAX_HIGHLIGHTS = 3;
+
+    private final Analyzer analyzer = new TurkishAnalyzer();
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public DocumentContentIndex(@Value("${search.index-dir:index}") String indexDir) throws IOException {
+        this.directory = FSDirectory.open(Paths.get(indexDir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(Long documentId, Long companyId, String fileName, String content) {
+        org.apache.lucene.document.Document luceneDocument = new org.apache.lucene.document.Document();
+        luceneDocument.add(new StringField(FIELD_ID, documentId.toString(), Field.Store.YES));
+        luceneDocument.add(new StringField(FIELD_COMPANY_ID, companyId.toString(), Field.Store.YES));
+        luceneDocument.add(new TextField(FIELD_FILE_NAME, fileName != null ? fileName : "", Field.Store.YES));
+        luceneDocument.add(new TextField(FIELD_CONTENT, content != null ? content : "", Field.Store.YES));
+        try {
+            writer.updateDocument(new Term(FIELD_ID, documentId.toString()), luceneDocument);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long documentId) {
+        try {
+            writer.deleteDocuments(new Term(FIELD_ID, documentId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteByCompany(Long companyId) {
+        try {
+            writer.deleteDocuments(new Term(FIELD_COMPANY_ID, companyId.toString()));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<DocumentSearchHitDTO> search(Long companyId, String queryText, int limit) {
+        Query query = new BooleanQuery.Builder()
+                .add(parse(queryText), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_COMPANY_ID, companyId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+        // Parçalar HTML olarak gösterildiği için evrak metni kaçışlanır; yalnızca <mark> etiketleri ham kalır
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<mark>", "</mark>"), new SimpleHTMLEncoder(),
+                new QueryScorer(query, FIELD_CONTENT));
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, limit);
+                List<DocumentSearchHitDTO> hits = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    org.apache.lucene.document.Document hit = searcher.storedFields().document(scoreDoc.doc);
+                    String[] fragments = highlighter.getBestFragments(analyzer, FIELD_CONTENT, hit.get(FIELD_CONTENT), MAX_HIGHLIGHTS);
+                    hits.add(new DocumentSearchHitDTO(
+                            Long.valueOf(hit.get(FIELD_ID)),
+                            hit.get(FIELD_FILE_NAME),
+                            scoreDoc.score,
+                            Arrays.asList(fragments)));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            throw new IllegalStateException("İçerik araması yapılamadı", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.commit-interval:PT30S}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            logger.warn("İçerik indeksi diske yazılamadı", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String queryText) {
+        try {
+            return new MultiFieldQueryParser(new String[]{FIELD_CONTENT, FIELD_FILE_NAME}, analyzer).parse(queryText);
+        } catch (ParseException e) {
+            throw new BadRequestException("Geçersiz arama ifadesi: " + queryText, e);
+        }
+    }
+}
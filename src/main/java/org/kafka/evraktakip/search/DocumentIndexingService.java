@@ -0,0 +1,120 @@
+package org.kafka.evraktakip.search;
+
+import org.kafka.evraktakip.dto.DocumentSearchHitDTO;
+import org.kafka.evraktakip.event.CompanyDeletedEvent;
+import org.kafka.evraktakip.event.DocumentDeletedEvent;
+import org.kafka.evraktakip.event.DocumentUploadedEvent;
+import org.kafka.evraktakip.event.DocumentsImportedEvent;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Yüklenen evrakların metnini arka planda çıkarıp içerik indeksine ekler. Yükleme isteği
+ * indekslemeyi beklemez; işler commit sonrasında documentIndexExecutor üzerinde commit sırasıyla,
+ * tek tek çalışır (bkz. AsyncConfig).
+ */
+@Service
+public class DocumentIndexingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIndexingService.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final DocumentContentIndex contentIndex;
+    private final DocumentTextExtractor textExtractor;
+    private final DocumentRepository documentRepository;
+    private final DocumentStorage documentStorage;
+
+    public DocumentIndexingService(DocumentContentIndex contentIndex,
+                                   DocumentTextExtractor textExtractor,
+                                   DocumentRepository documentRepository,
+                                   DocumentStorage documentStorage) {
+        this.contentIndex = contentIndex;
+        this.textExtractor = textExtractor;
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        index(event.documentId(), event.companyId(), event.originalFileName(), event.filePath(), event.codec());
+    }
+
+    // Aktarılan her parça tek bir iş olarak sırayla indekslenir
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onDocumentsImported(DocumentsImportedEvent event) {
+        for (DocumentUploadedEvent document : event.documents()) {
+            index(document.documentId(), document.companyId(), document.originalFileName(), document.filePath(),
+                    document.codec());
+        }
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onDocumentDeleted(DocumentDeletedEvent event) {
+        contentIndex.delete(event.documentId());
+    }
+
+    @Async("documentIndexExecutor")
+    @TransactionalEventListener
+    public void onCompanyDeleted(CompanyDeletedEvent event) {
+        contentIndex.deleteByCompany(event.companyId());
+    }
+
+    public List<DocumentSearchHitDTO> search(Long companyId, String query, int limit) {
+        return contentIndex.search(companyId, query, limit);
+    }
+
+    /**
+     * İndeksi documents tablosundan baştan oluşturur. Tablo id sırasıyla parça parça okunur. Kendi executor'ünde
+     * çalışır; başka bir yeniden oluşturma sürerken çağrılırsa TaskRejectedException fırlatılır.
+     */
+    @Async("indexRebuildExecutor")
+    public void rebuildIndex() {
+        logger.info("İçerik indeksi yeniden oluşturuluyor");
+        contentIndex.deleteAll();
+
+        long lastId = 0;
+        int indexed = 0;
+        List<Document> batch;
+        do {
+            batch = documentRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            for (Document document : batch) {
+                index(document.getId(), document.getCompany().getId(), document.getOriginalFileName(),
+                        document.getFilePath(), document.getCodec());
+                lastId = document.getId();
+                indexed++;
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        contentIndex.commit();
+        logger.info("İçerik indeksi yeniden oluşturuldu: {} evrak", indexed);
+    }
+
+    private void index(Long documentId, Long companyId, String originalFileName, String filePath, StorageCodec codec) {
+        String content;
+        try (InputStream in = documentStorage.open(Paths.get(filePath), codec)) {
+            content = textExtractor.extract(in);
+        } catch (IOException e) {
+            // Metni çıkarılamayan evraklar yine de dosya adıyla aranabilir
+            logger.warn("Evrak metni çıkarılamadı: {}", documentId, e);
+            content = "";
+        }
+        contentIndex.index(documentId, companyId, originalFileName, content);
+    }
+}
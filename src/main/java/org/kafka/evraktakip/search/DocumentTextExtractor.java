@@ -0,0 +1,31 @@
+package org.kafka.evraktakip.search;
+
+import org.apache.tika.Tika;
+import org.apache.tika.exception.TikaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PDF, Office ve metin dosyalarından düz metin çıkarır.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    private final Tika tika = new Tika();
+
+    public DocumentTextExtractor(@Value("${search.max-extracted-chars:200000}") int maxExtractedChars) {
+        // Çok büyük belgelerde indeks boyutu ve bellek kullanımı sınırlı kalsın
+        tika.setMaxStringLength(maxExtractedChars);
+    }
+
+    public String extract(InputStream content) throws IOException {
+        try {
+            return tika.parseToString(content);
+        } catch (TikaException e) {
+            throw new IOException("Metin çıkarılamadı", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.kafka.evraktakip.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.kafka.evraktakip.dto.CacheStatsDTO;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uygulama önbelleklerinin (Spring Cache) ve Hibernate ikinci seviye önbellek bölgelerinin
+ * isabet/ıskalama istatistiklerini toplar.
+ */
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatsService(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        List<CacheStatsDTO> stats = new ArrayList<>();
+
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeineCache) {
+                var nativeCache = caffeineCache.getNativeCache();
+                var cacheStats = nativeCache.stats();
+                stats.add(new CacheStatsDTO(name, cacheStats.hitCount(), cacheStats.missCount(),
+                        cacheStats.loadCount(), cacheStats.evictionCount(), nativeCache.estimatedSize()));
+            }
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            stats.add(new CacheStatsDTO("hibernate:" + region, regionStats.getHitCount(), regionStats.getMissCount(),
+                    regionStats.getPutCount(), null, regionStats.getElementCountInMemory()));
+        }
+
+        return stats;
+    }
+}
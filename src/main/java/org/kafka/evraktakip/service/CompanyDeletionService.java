@@ -0,0 +1,219 @@
+package org.kafka.evraktakip.service;
+
+import jakarta.transaction.Transactional;
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.config.CacheConfig;
+import org.kafka.evraktakip.dto.CompanyDeletionJobDTO;
+import org.kafka.evraktakip.event.CompanyDeletedEvent;
+import org.kafka.evraktakip.exception.NotFoundException;
+import org.kafka.evraktakip.mapper.CompanyDeletionJobMapper;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.CompanyDeletionJob;
+import org.kafka.evraktakip.model.CompanyDeletionJobStatus;
+import org.kafka.evraktakip.preview.PreviewVariant;
+import org.kafka.evraktakip.repository.ArchivedDocumentRepository;
+import org.kafka.evraktakip.repository.CompanyDeletionJobRepository;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.repository.DocumentFileRef;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.kafka.evraktakip.storage.RateLimitedFileDeleter;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Firma silme işlerinin oluşturulması ve her adımın ayrı, kısa transaction'larda yürütülmesi.
+ * İşin kendisi {@link CompanyDeletionWorker} tarafından arka planda çalıştırılır.
+ */
+@Service
+public class CompanyDeletionService {
+
+    private static final EnumSet<CompanyDeletionJobStatus> ACTIVE =
+            EnumSet.of(CompanyDeletionJobStatus.PENDING, CompanyDeletionJobStatus.RUNNING);
+
+    private final CompanyDeletionJobRepository jobRepository;
+    private final CompanyRepository companyRepository;
+    private final DocumentRepository documentRepository;
+    private final CompanyDocumentCounter companyDocumentCounter;
+    private final DocumentStorage documentStorage;
+    private final CompanyDeletionJobMapper jobMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentArchive documentArchive;
+    private final ArchivedDocumentRepository archivedDocuments;
+
+    public CompanyDeletionService(CompanyDeletionJobRepository jobRepository,
+                                  CompanyRepository companyRepository,
+                                  DocumentRepository documentRepository,
+                                  CompanyDocumentCounter companyDocumentCounter,
+                                  DocumentStorage documentStorage,
+                                  CompanyDeletionJobMapper jobMapper,
+                                  ApplicationEventPublisher eventPublisher,
+                                  DocumentArchive documentArchive,
+                                  ArchivedDocumentRepository archivedDocuments) {
+        this.jobRepository = jobRepository;
+        this.companyRepository = companyRepository;
+        this.documentRepository = documentRepository;
+        this.companyDocumentCounter = companyDocumentCounter;
+        this.documentStorage = documentStorage;
+        this.jobMapper = jobMapper;
+        this.eventPublisher = eventPublisher;
+        this.documentArchive = documentArchive;
+        this.archivedDocuments = archivedDocuments;
+    }
+
+    /**
+     * Firma için silme işi oluşturur; aynı firma için süren bir iş varsa onu döner.
+     */
+    @Transactional
+    public CompanyDeletionJobDTO requestDeletion(Long companyId) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new NotFoundException("Firma bulunamadı: " + companyId));
+
+        Optional<CompanyDeletionJob> active = jobRepository.findFirstByCompanyIdAndStatusIn(companyId, ACTIVE);
+        if (active.isPresent()) {
+            return jobMapper.toDto(active.get());
+        }
+
+        CompanyDeletionJob job = new CompanyDeletionJob();
+        job.setCompanyId(companyId);
+        job.setStatus(CompanyDeletionJobStatus.PENDING);
+        job.setTotalDocuments(company.getDocumentCount());
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        return jobMapper.toDto(jobRepository.save(job));
+    }
+
+    public CompanyDeletionJobDTO getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(jobMapper::toDto)
+                .orElseThrow(() -> new NotFoundException("Firma silme işi bulunamadı: " + jobId));
+    }
+
+    @Transactional
+    public Optional<CompanyDeletionJob> claimNext(Duration staleAfter) {
+        Optional<CompanyDeletionJob> job = jobRepository.lockNext(Instant.now().minus(staleAfter));
+        job.ifPresent(j -> {
+            j.setStatus(CompanyDeletionJobStatus.RUNNING);
+            j.setUpdatedAt(Instant.now());
+        });
+        return job;
+    }
+
+    /**
+     * Firmanın en fazla batchSize evrak kaydını siler ve içerik referanslarını düşürür. Dosyalar
+     * silinmez; commit sonrasında çalıştırılacak silme işlemleri döner. Güncel evraklar bittiğinde
+     * arşivlenmiş evraklar silinir.
+     */
+    @Transactional
+    public DeletedBatch deleteBatch(Long companyId, int batchSize) {
+        List<DocumentFileRef> refs = documentRepository.findByCompanyIdOrderByIdAsc(companyId, Limit.of(batchSize));
+        if (refs.isEmpty()) {
+            return documentArchive.isEnabled() ? deleteArchivedBatch(companyId, batchSize) : new DeletedBatch(0, List.of());
+        }
+
+        List<Long> ids = new ArrayList<>(refs.size());
+        Map<String, Integer> referenceCounts = new HashMap<>();
+        List<RateLimitedFileDeleter.Deletion> deletions = new ArrayList<>();
+        for (DocumentFileRef ref : refs) {
+            ids.add(ref.id());
+            if (ref.checksum() != null) {
+                referenceCounts.merge(ref.checksum(), 1, Integer::sum);
+            } else {
+                // İçerik adresli depolamadan önce yüklenmiş evraklar ve önizlemeleri
+                Path file = Paths.get(ref.filePath());
+                deletions.add(() -> {
+                    Files.deleteIfExists(file);
+                    for (PreviewVariant variant : PreviewVariant.values()) {
+                        Files.deleteIfExists(variant.pathFor(file));
+                    }
+                });
+            }
+        }
+
+        int deleted = documentRepository.deleteAllByIdIn(ids);
+        for (String hash : documentStorage.releaseAll(referenceCounts)) {
+            deletions.add(() -> documentStorage.deleteContent(hash));
+        }
+        companyDocumentCounter.add(companyId, -deleted);
+        return new DeletedBatch(deleted, deletions);
+    }
+
+    // Arşiv kayıtları içerik referansı tutmaz; soğuk depolamadaki dosya başka bir arşiv kaydı kullanmıyorsa silinir
+    private DeletedBatch deleteArchivedBatch(Long companyId, int batchSize) {
+        List<DocumentFileRef> refs = archivedDocuments.findFileRefsByCompany(companyId, batchSize);
+        if (refs.isEmpty()) {
+            return new DeletedBatch(0, List.of());
+        }
+
+        int deleted = archivedDocuments.deleteAllByIdIn(refs.stream().map(DocumentFileRef::id).toList());
+        List<RateLimitedFileDeleter.Deletion> deletions = new ArrayList<>();
+        for (String filePath : refs.stream().map(DocumentFileRef::filePath).distinct().toList()) {
+            Path file = Paths.get(filePath);
+            deletions.add(() -> {
+                if (archivedDocuments.isFileReferenced(filePath)) {
+                    return;
+                }
+                Files.deleteIfExists(file);
+                for (PreviewVariant variant : PreviewVariant.values()) {
+                    Files.deleteIfExists(variant.pathFor(file));
+                }
+            });
+        }
+        companyDocumentCounter.add(companyId, -deleted);
+        return new DeletedBatch(deleted, deletions);
+    }
+
+    @Transactional
+    public void recordProgress(Long jobId, int deletedDocuments, RateLimitedFileDeleter.Result files) {
+        CompanyDeletionJob job = jobRepository.getReferenceById(jobId);
+        job.setDeletedDocuments(job.getDeletedDocuments() + deletedDocuments);
+        job.setDeletedFiles(job.getDeletedFiles() + files.deleted());
+        job.setFailedFiles(job.getFailedFiles() + files.failed());
+        job.setUpdatedAt(Instant.now());
+    }
+
+    /**
+     * Evrakı kalmamışsa firmayı siler ve işi tamamlar. Bu arada yeni evrak yüklendiyse false döner.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#companyId")
+    public boolean finish(Long jobId, Long companyId) {
+        if (documentRepository.existsByCompanyId(companyId)
+                || (documentArchive.isEnabled() && archivedDocuments.existsByCompanyId(companyId))) {
+            return false;
+        }
+        companyRepository.deleteById(companyId);
+
+        CompanyDeletionJob job = jobRepository.getReferenceById(jobId);
+        job.setStatus(CompanyDeletionJobStatus.DONE);
+        job.setUpdatedAt(Instant.now());
+        eventPublisher.publishEvent(new CompanyDeletedEvent(companyId));
+        return true;
+    }
+
+    @Transactional
+    public void markFailed(Long jobId, String error) {
+        CompanyDeletionJob job = jobRepository.getReferenceById(jobId);
+        job.setStatus(CompanyDeletionJobStatus.FAILED);
+        job.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        job.setUpdatedAt(Instant.now());
+    }
+
+    public record DeletedBatch(int deletedDocuments, List<RateLimitedFileDeleter.Deletion> fileDeletions) {
+    }
+}
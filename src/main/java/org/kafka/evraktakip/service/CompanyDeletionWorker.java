@@ -0,0 +1,90 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.model.CompanyDeletionJob;
+import org.kafka.evraktakip.storage.RateLimitedFileDeleter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Firma silme işlerini sırayla yürütür. Evrak kayıtları her biri ayrı transaction olan parçalar halinde
+ * silinir; her parçanın dosyaları commit sonrasında hız sınırlı olarak silinir ve ilerleme kaydedilir.
+ * Uygulama iş ortasında kapanırsa iş kaldığı yerden devam eder.
+ */
+@Component
+public class CompanyDeletionWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompanyDeletionWorker.class);
+
+    private final CompanyDeletionService deletionService;
+    private final RateLimitedFileDeleter fileDeleter;
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore running = new Semaphore(1);
+    private final int batchSize;
+    private final Duration staleAfter;
+
+    public CompanyDeletionWorker(CompanyDeletionService deletionService,
+                                 RateLimitedFileDeleter fileDeleter,
+                                 @Qualifier("companyDeletionExecutor") ThreadPoolTaskExecutor executor,
+                                 @Value("${company-deletion.batch-size:1000}") int batchSize,
+                                 @Value("${company-deletion.stale-after:PT10M}") Duration staleAfter) {
+        this.deletionService = deletionService;
+        this.fileDeleter = fileDeleter;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.staleAfter = staleAfter;
+    }
+
+    @Scheduled(fixedDelayString = "${company-deletion.poll-interval:PT5S}")
+    public void poll() {
+        if (!running.tryAcquire()) {
+            return;
+        }
+        Optional<CompanyDeletionJob> job;
+        try {
+            job = deletionService.claimNext(staleAfter);
+        } catch (RuntimeException e) {
+            running.release();
+            throw e;
+        }
+        if (job.isEmpty()) {
+            running.release();
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                process(job.get());
+            } finally {
+                running.release();
+            }
+        });
+    }
+
+    private void process(CompanyDeletionJob job) {
+        try {
+            do {
+                CompanyDeletionService.DeletedBatch batch;
+                while ((batch = deletionService.deleteBatch(job.getCompanyId(), batchSize)).deletedDocuments() > 0) {
+                    RateLimitedFileDeleter.Result files = fileDeleter.deleteAll(batch.fileDeletions());
+                    deletionService.recordProgress(job.getId(), batch.deletedDocuments(), files);
+                }
+            } while (!deletionService.finish(job.getId(), job.getCompanyId()));
+            logger.info("Firma silindi: {}", job.getCompanyId());
+        } catch (InterruptedException e) {
+            // İş RUNNING kalır, stale-after süresi sonunda yeniden alınır
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Firma silinemedi: {}", job.getCompanyId(), e);
+            deletionService.markFailed(job.getId(), e.getMessage());
+        }
+    }
+}
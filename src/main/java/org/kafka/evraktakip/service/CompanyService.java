@@ -1,19 +1,25 @@
 package org.kafka.evraktakip.service;
 
-import jakarta.transaction.Transactional;
+import org.kafka.evraktakip.config.CacheConfig;
 import org.kafka.evraktakip.dto.CompanyDTO;
+import org.kafka.evraktakip.event.CompanySavedEvent;
 import org.kafka.evraktakip.exception.NotFoundException;
 import org.kafka.evraktakip.mapper.CompanyMapper;
 import org.kafka.evraktakip.model.Company;
 import org.kafka.evraktakip.repository.CompanyRepository;
 import org.kafka.evraktakip.repository.DocumentRepository;
+import org.kafka.evraktakip.specification.CompanySpecifications;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,56 +33,52 @@ public class CompanyService {
     private final CompanyRepository companyRepository;
     private final CompanyMapper companyMapper;
     private final DocumentRepository documentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CompanyService(CompanyRepository companyRepository, CompanyMapper companyMapper, DocumentRepository documentRepository) {
+    public CompanyService(CompanyRepository companyRepository, CompanyMapper companyMapper, DocumentRepository documentRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.companyRepository = companyRepository;
         this.companyMapper = companyMapper;
         this.documentRepository = documentRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public CompanyDTO createCompany(CompanyDTO companyDTO) {
         Company company = companyMapper.toEntity(companyDTO);
         Company savedCompany = companyRepository.save(company);
+        eventPublisher.publishEvent(new CompanySavedEvent(savedCompany.getId(), savedCompany.getName(), true));
         return companyMapper.toDto(savedCompany);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#id")
     public CompanyDTO updateCompany(Long id, CompanyDTO companyDTO) {
         Company existingCompany = companyRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Firma bulunamadı: " + id));
         
         existingCompany.setName(companyDTO.getName());
         Company updatedCompany = companyRepository.save(existingCompany);
+        eventPublisher.publishEvent(new CompanySavedEvent(updatedCompany.getId(), updatedCompany.getName(), false));
         return companyMapper.toDto(updatedCompany);
     }
 
-    public void deleteCompany(Long id) {
-        if (!companyRepository.existsById(id)) {
-            throw new NotFoundException("Firma bulunamadı: " + id);
-        }
-        companyRepository.deleteById(id);
-    }
-
+    @Cacheable(cacheNames = CacheConfig.COMPANIES, key = "#id")
+    @Transactional(readOnly = true)
     public CompanyDTO getCompanyById(Long id) {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Firma bulunamadı: " + id));
         return companyMapper.toDto(company);
     }
 
+    @Transactional(readOnly = true)
     public Page<CompanyDTO> getAllCompanies(Pageable pageable, String search) {
         Specification<Company> spec = Specification.where(null);
         
         if (search != null && !search.trim().isEmpty()) {
-            spec = spec.and((root, query, cb) -> 
-                cb.like(cb.lower(root.get("name")), "%" + search.toLowerCase() + "%")
-            );
+            spec = spec.and(CompanySpecifications.nameContains(search));
         }
         
+        // documentCount artık firmada tutulduğu için ek sayım sorgusu gerekmiyor
         return companyRepository.findAll(spec, pageable)
-                .map(company -> {
-                    CompanyDTO dto = companyMapper.toDto(company);
-                    Long documentCount = documentRepository.countByCompany(company);
-                    dto.setDocumentCount(documentCount);
-                    return dto;
-                });
+                .map(companyMapper::toDto);
     }
 } 
\ No newline at end of file
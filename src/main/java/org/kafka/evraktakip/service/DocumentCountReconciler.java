@@ -0,0 +1,52 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * companies.document_count sayacını documents tablosundaki gerçek sayılarla karşılaştırıp
+ * kaymaları düzeltir (arşiv etkinse documents_archive kayıtları da sayılır). Tek bir büyük
+ * transaction yerine id aralıkları halinde çalışır.
+ */
+@Component
+public class DocumentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentCountReconciler.class);
+
+    private final CompanyRepository companyRepository;
+    private final CompanyDocumentCounter companyDocumentCounter;
+    private final DocumentArchive documentArchive;
+    private final int batchSize;
+
+    public DocumentCountReconciler(CompanyRepository companyRepository,
+                                   CompanyDocumentCounter companyDocumentCounter,
+                                   DocumentArchive documentArchive,
+                                   @Value("${document-count.reconcile-batch-size:1000}") int batchSize) {
+        this.companyRepository = companyRepository;
+        this.companyDocumentCounter = companyDocumentCounter;
+        this.documentArchive = documentArchive;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${document-count.reconcile-initial-delay:PT1M}",
+               fixedDelayString = "${document-count.reconcile-interval:PT6H}")
+    public void reconcile() {
+        long maxId = companyRepository.findMaxId();
+        int repaired = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += batchSize) {
+            long toId = fromId + batchSize - 1;
+            repaired += documentArchive.isEnabled()
+                    ? companyDocumentCounter.reconcileWithArchive(fromId, toId)
+                    : companyRepository.reconcileDocumentCounts(fromId, toId);
+        }
+        if (repaired > 0) {
+            logger.warn("Evrak sayacı düzeltildi: {} firma", repaired);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.exception.BadRequestException;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.DocumentListRow;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset sayfalamada son okunan kaydın (uploadDate, id) değerleri. İstemciye Base64 ile
+ * kodlanmış opak bir dize olarak verilir.
+ */
+record DocumentCursor(Instant uploadDate, long id) {
+
+    // (company_id, upload_date DESC, id DESC) indeksiyle aynı sıralama
+    static final Sort SORT = Sort.by(Sort.Order.desc("uploadDate"), Sort.Order.desc("id"));
+
+    static DocumentCursor of(DocumentListRow row) {
+        return new DocumentCursor(row.uploadDate(), row.id());
+    }
+
+    static DocumentCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            Instant uploadDate = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new DocumentCursor(uploadDate, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Geçersiz sayfa imleci: " + cursor, e);
+        }
+    }
+
+    String encode() {
+        String raw = uploadDate.getEpochSecond() + ":" + uploadDate.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // uploadDate < :uploadDate OR (uploadDate = :uploadDate AND id < :id)
+    Specification<Document> toSpecification() {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("uploadDate"), uploadDate),
+                cb.and(cb.equal(root.get("uploadDate"), uploadDate), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,164 @@
+package org.kafka.evraktakip.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.exception.BusinessException;
+import org.kafka.evraktakip.exception.ErrorCode;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bir firmanın filtrelenmiş evraklarını tek bir ZIP olarak yanıta yazar. Kayıtlar sayfa sayfa değil,
+ * veritabanı imleci ile akış halinde okunur ve dosyalar geçici dosya kullanılmadan doğrudan çıktıya
+ * yazıldığı için bellek kullanımı evrak sayısından bağımsızdır.
+ */
+@Service
+public class DocumentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExportService.class);
+
+    private static final int FETCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CompanyRepository companyRepository;
+    private final DocumentStorage documentStorage;
+    private final EntityManager entityManager;
+
+    public DocumentExportService(CompanyRepository companyRepository,
+                                 DocumentStorage documentStorage,
+                                 EntityManager entityManager) {
+        this.companyRepository = companyRepository;
+        this.documentStorage = documentStorage;
+        this.entityManager = entityManager;
+    }
+
+    // Yanıt gövdesi yazılmaya başlamadan önce çağrılır ki hata normal bir hata yanıtı olarak dönebilsin
+    public void checkCompany(Long companyId) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new BusinessException(ErrorCode.COMPANY_NOT_FOUND);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public int exportDocuments(Long companyId, DocumentSearchCriteria criteria, OutputStream out) throws IOException {
+        int exported = 0;
+        try (Stream<ExportRow> rows = streamRows(companyId, criteria);
+             ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            Iterator<ExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ExportRow row = iterator.next();
+                try {
+                    writeEntry(zip, row);
+                    exported++;
+                } catch (NoSuchFileException e) {
+                    logger.warn("Dışa aktarımda evrak dosyası bulunamadı, atlandı: {}", row.id());
+                }
+            }
+        }
+        return exported;
+    }
+
+    // Entity yerine yalnızca gereken kolonlar okunur; persistence context büyümez
+    private Stream<ExportRow> streamRows(Long companyId, DocumentSearchCriteria criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ExportRow> query = cb.createQuery(ExportRow.class);
+        Root<Document> root = query.from(Document.class);
+
+        Company company = entityManager.getReference(Company.class, companyId);
+        query.select(cb.construct(ExportRow.class,
+                        root.get("id"), root.get("originalFileName"), root.get("filePath"),
+                        root.get("fileType"), root.get("codec"), root.get("uploadDate")))
+                .where(DocumentService.buildSpecification(company, criteria).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("uploadDate")), cb.asc(root.get("id")));
+
+        // PostgreSQL sürücüsü fetch size verilmezse (transaction içinde) tüm sonucu belleğe alır
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void writeEntry(ZipOutputStream zip, ExportRow row) throws IOException {
+        Path path = Paths.get(row.filePath());
+        ZipEntry entry = new ZipEntry(entryName(row));
+        if (row.uploadDate() != null) {
+            entry.setLastModifiedTime(FileTime.from(row.uploadDate()));
+        }
+
+        if (row.codec() != StorageCodec.GZIP && isAlreadyCompressed(row.fileType())) {
+            // Sıkıştırılmış biçimler tekrar sıkıştırılmaz; STORED kayıt için boyut ve CRC önceden gerekir
+            entry.setMethod(ZipEntry.STORED);
+            long size = Files.size(path);
+            entry.setSize(size);
+            entry.setCompressedSize(size);
+            entry.setCrc(crc32(path));
+        }
+
+        // Dosya, kayıt başlığı yazılmadan önce açılır; eksik dosya ZIP içinde boş bir kayıt bırakmaz
+        try (InputStream in = documentStorage.open(path, row.codec())) {
+            zip.putNextEntry(entry);
+            in.transferTo(zip);
+            zip.closeEntry();
+        }
+    }
+
+    private long crc32(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    // Aynı adlı evraklar çakışmasın diye id öne eklenir; dizin ayırıcıları temizlenir
+    private String entryName(ExportRow row) {
+        String name = row.originalFileName() != null ? row.originalFileName() : "evrak";
+        return row.id() + "_" + name.replaceAll("[/\\\\:]", "_");
+    }
+
+    private boolean isAlreadyCompressed(String fileType) {
+        return fileType != null && (
+            fileType.equals("image/jpeg") ||
+            fileType.equals("image/png") ||
+            fileType.equals("image/gif") ||
+            fileType.equals("image/webp") ||
+            fileType.equals("application/pdf") ||
+            fileType.startsWith("application/vnd.openxmlformats-officedocument")
+        );
+    }
+
+    public record ExportRow(Long id, String originalFileName, String filePath, String fileType,
+                            StorageCodec codec, Instant uploadDate) {
+    }
+}
@@ -1,112 +1,483 @@
 package org.kafka.evraktakip.service;
 
+import io.micrometer.core.instrument.Timer;
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.dto.BatchUploadResultDTO;
 import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.dto.DocumentImportDTO;
 import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.dto.DocumentSliceDTO;
+import org.kafka.evraktakip.event.DocumentDeletedEvent;
+import org.kafka.evraktakip.event.DocumentUploadedEvent;
+import org.kafka.evraktakip.event.DocumentsImportedEvent;
+import org.kafka.evraktakip.exception.BadRequestException;
 import org.kafka.evraktakip.exception.BusinessException;
 import org.kafka.evraktakip.exception.ErrorCode;
-import org.kafka.evraktakip.exception.SystemException;
 import org.kafka.evraktakip.mapper.DocumentMapper;
+import org.kafka.evraktakip.metrics.DocumentMetrics;
 import org.kafka.evraktakip.model.Company;
 import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.preview.PreviewVariant;
+import org.kafka.evraktakip.repository.ArchivedDocumentRepository;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
 import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.repository.DocumentListRow;
+import org.kafka.evraktakip.repository.DocumentListingQuery;
 import org.kafka.evraktakip.repository.DocumentRepository;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.kafka.evraktakip.specification.DocumentSpecifications;
 
-import jakarta.transaction.Transactional;
-import java.awt.Desktop;
-import java.io.BufferedReader;
-import java.io.File;
+import jakarta.persistence.EntityManager;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
-import java.util.stream.Collectors;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 @Transactional
 public class DocumentService {
 
+    static final long MAX_FILE_SIZE = 10_000_000; // 10MB
+    // Toplu aktarımda persistence context'in büyümemesi için her parçadan sonra flush/clear yapılır
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    // Sayfasız listelemelere eklenen arşiv kaydı sınırı (Spring Data'nın varsayılan azami sayfa boyutu)
+    private static final int MAX_ARCHIVED_ROWS = 2000;
+
     private final DocumentRepository documentRepository;
+    private final DocumentListingQuery documentListingQuery;
     private final CompanyRepository companyRepository;
+    private final CompanyDocumentCounter companyDocumentCounter;
     private final DocumentMapper documentMapper;
+    private final DocumentStorage documentStorage;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DocumentMetrics documentMetrics;
+    private final DocumentArchive documentArchive;
+    private final ArchivedDocumentRepository archivedDocuments;
+    private final TransactionTemplate transactionTemplate;
 
     public DocumentService(DocumentRepository documentRepository,
+                         DocumentListingQuery documentListingQuery,
                          CompanyRepository companyRepository,
-                         DocumentMapper documentMapper) {
+                         CompanyDocumentCounter companyDocumentCounter,
+                         DocumentMapper documentMapper,
+                         DocumentStorage documentStorage,
+                         EntityManager entityManager,
+                         ApplicationEventPublisher eventPublisher,
+                         DocumentMetrics documentMetrics,
+                         DocumentArchive documentArchive,
+                         ArchivedDocumentRepository archivedDocuments,
+                         PlatformTransactionManager transactionManager) {
         this.documentRepository = documentRepository;
+        this.documentListingQuery = documentListingQuery;
         this.companyRepository = companyRepository;
+        this.companyDocumentCounter = companyDocumentCounter;
         this.documentMapper = documentMapper;
+        this.documentStorage = documentStorage;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.documentMetrics = documentMetrics;
+        this.documentArchive = documentArchive;
+        this.archivedDocuments = archivedDocuments;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentDTO uploadDocument(Long companyId, MultipartFile file) {
-        // Firma kontrolü
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
+        // Dosya boyutu kontrolü
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
 
-        // Dosya tipi kontrolü
-        String contentType = file.getContentType();
-        if (!isValidFileType(contentType)) {
-            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        try {
+            return storeDocument(companyId, file.getOriginalFilename(), file.getContentType(), file.getInputStream());
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
         }
+    }
 
-        // Dosya boyutu kontrolü
-        if (file.getSize() > 10_000_000) { // 10MB
+    /**
+     * İstek gövdesini multipart ayrıştırması ve geçici dosya olmadan doğrudan hedef dosyaya yazar. Gövde
+     * transaction açılmadan okunur; yavaş bir istemci veritabanı bağlantısı tutmaz.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentDTO uploadDocument(Long companyId, String originalFileName, String contentType,
+                                      Long contentLength, InputStream content) {
+        // Content-Length biliniyorsa gövde okunmadan reddedilir
+        if (contentLength != null && contentLength > MAX_FILE_SIZE) {
             throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
         }
+        return storeDocument(companyId, originalFileName, contentType, content);
+    }
 
-        // Upload dizini kontrolü
-        Path uploadPath = Paths.get("uploads");
+    private DocumentDTO storeDocument(Long companyId, String originalFileName, String contentType, InputStream content) {
+        // Firma ve dosya tipi kontrolü
+        Timer.Sample validation = Timer.start();
         try {
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+            if (!isValidFileType(contentType)) {
+                throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
             }
-        } catch (IOException e) {
-            throw new SystemException(ErrorCode.DISK_SPACE_ERROR, e);
+            if (!companyRepository.existsById(companyId)) {
+                throw new BusinessException(ErrorCode.COMPANY_NOT_FOUND);
+            }
+        } finally {
+            documentMetrics.recordUploadStage(validation, DocumentMetrics.STAGE_VALIDATION, companyId);
         }
 
-        // Dosya kaydetme
-        String originalFileName = file.getOriginalFilename();
-        String uniqueFileName = generateUniqueFileName(originalFileName);
-        Path filePath = uploadPath.resolve(uniqueFileName);
-
+        // Dosya yazma (boyut ve özet yazma sırasında hesaplanır); gövde okunurken bağlantı tutulmaz
+        Timer.Sample diskWrite = Timer.start();
+        DocumentStorage.WrittenContent written;
         try {
-            Files.copy(file.getInputStream(), filePath);
+            written = documentStorage.write(content, MAX_FILE_SIZE, contentType);
         } catch (IOException e) {
             throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        } finally {
+            documentMetrics.recordUploadStage(diskWrite, DocumentMetrics.STAGE_DISK_WRITE, companyId);
         }
 
-        // Veritabanı kaydı
+        // Referans önce eklenir: firma bu arada silindiyse geri alma yerleştirilen dosyayı da kaldırır
+        return transactionTemplate.execute(status -> {
+            DocumentStorage.StoredContent stored;
+            try {
+                stored = documentStorage.addReference(written);
+            } catch (IOException e) {
+                throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+            }
+            Company company = companyRepository.findById(companyId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
+            return saveStoredDocument(company, originalFileName, contentType, stored);
+        });
+    }
+
+    /**
+     * Depoya alınmış ve referansı eklenmiş içerik için evrak kaydı oluşturur. Kayıt eklenemezse transaction
+     * geri alınır; dosya bu yüklemede yerleştirildiyse ve başka referansı yoksa depo tarafından silinir.
+     */
+    public DocumentDTO saveStoredDocument(Company company, String originalFileName, String contentType,
+                                          DocumentStorage.StoredContent stored) {
+        // Veritabanı kaydı; insert süresinin ölçülebilmesi için commit beklenmeden flush edilir
+        Timer.Sample dbInsert = Timer.start();
         try {
-            Document document = new Document();
-            document.setFileName(uniqueFileName);
-            document.setFilePath(filePath.toAbsolutePath().toString());
-            document.setCompany(company);
-            document.setOriginalFileName(originalFileName);
-            document.setFileType(contentType);
-            document.setUploadDate(Instant.now());
-
-            Document savedDocument = documentRepository.save(document);
+            Document savedDocument = documentRepository.saveAndFlush(newDocument(company, originalFileName, contentType, stored));
+            companyDocumentCounter.add(company.getId(), 1);
+            publishUploaded(savedDocument);
             return documentMapper.toDto(savedDocument);
         } catch (Exception e) {
-            // Dosya kaydedildiyse sil
+            throw new BusinessException(ErrorCode.DATABASE_ERROR, e);
+        } finally {
+            documentMetrics.recordUploadStage(dbInsert, DocumentMetrics.STAGE_DB_INSERT, company.getId());
+        }
+    }
+
+    /**
+     * Birden fazla dosyayı tek istekte yükler. Dosyalar transaction açılmadan, sanal thread'lerde paralel olarak
+     * diske yazılır; evrak kayıtları ardından tek transaction'da JDBC batch insert ile eklenir. Geçersiz ya da
+     * yazılamayan bir dosya diğerlerini engellemez ve kendi sonucunda hata olarak döner. Kayıt ekleme ise
+     * bütündür: veritabanı hatasında hiçbir evrak eklenmez ve istek DATABASE_ERROR ile sonuçlanır.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchUploadResultDTO> uploadDocuments(Long companyId, List<MultipartFile> files) {
+        // Firma kontrolü (tüm dosyalar için bir kez, dosyalar yazılmadan önce)
+        if (!companyRepository.existsById(companyId)) {
+            throw new BusinessException(ErrorCode.COMPANY_NOT_FOUND);
+        }
+
+        // Disk yazma işlemleri veritabanına dokunmadığı için bağlantı tutulmadan paralel yürütülür
+        List<Future<DocumentStorage.WrittenContent>> writes = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                writes.add(executor.submit(() -> writeFile(file)));
+            }
+        }
+
+        return transactionTemplate.execute(status -> saveBatch(companyId, files, writes));
+    }
+
+    private List<BatchUploadResultDTO> saveBatch(Long companyId, List<MultipartFile> files,
+                                                 List<Future<DocumentStorage.WrittenContent>> writes) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
+
+        BatchUploadResultDTO[] results = new BatchUploadResultDTO[files.size()];
+        List<Document> documents = new ArrayList<>();
+        List<Integer> documentIndexes = new ArrayList<>();
+
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            DocumentStorage.StoredContent stored;
             try {
-                Files.deleteIfExists(filePath);
-            } catch (IOException ignored) {}
+                stored = documentStorage.addReference(writes.get(i).get());
+            } catch (ExecutionException e) {
+                results[i] = BatchUploadResultDTO.failure(file.getOriginalFilename(), e.getCause().getMessage());
+                continue;
+            } catch (IOException e) {
+                results[i] = BatchUploadResultDTO.failure(file.getOriginalFilename(), e.getMessage());
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+            }
+
+            documents.add(newDocument(company, file.getOriginalFilename(), file.getContentType(), stored));
+            documentIndexes.add(i);
+        }
+
+        // Veritabanı kaydı (sequence ile id alındığı için insert'ler tek batch halinde gönderilir; hepsi ya da hiçbiri)
+        try {
+            List<Document> savedDocuments = documentRepository.saveAllAndFlush(documents);
+            companyDocumentCounter.add(companyId, savedDocuments.size());
+            savedDocuments.forEach(this::publishUploaded);
+
+            for (int i = 0; i < savedDocuments.size(); i++) {
+                int index = documentIndexes.get(i);
+                results[index] = BatchUploadResultDTO.success(
+                        files.get(index).getOriginalFilename(), documentMapper.toDto(savedDocuments.get(i)));
+            }
+        } catch (Exception e) {
+            // Bu istekte yerleştirilen dosyalar geri alma sonrasında depo tarafından silinir
             throw new BusinessException(ErrorCode.DATABASE_ERROR, e);
         }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Depo dizinine önceden bırakılmış dosyalar için evrak kayıtlarını toplu olarak ekler. Yollar depo dizini
+     * altındaki normal dosyalar olmalıdır; dosyalar transaction dışında paralel olarak okunup özetlenir, ardından
+     * kopyalanmadan içerik adresli depoya taşınır. Kayıtlar IMPORT_CHUNK_SIZE'lık parçalar halinde flush edilip
+     * persistence context temizlenir; aktarım bütündür ve geri alınırsa dosyalar eski yollarına döner.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int importDocuments(Long companyId, List<DocumentImportDTO> rows) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new BusinessException(ErrorCode.COMPANY_NOT_FOUND);
+        }
+
+        List<Path> files = resolveImportFiles(rows);
+
+        // Özet hesaplama veritabanına dokunmadığı için bağlantı tutulmadan paralel yürütülür
+        List<Future<DocumentStorage.WrittenContent>> adoptions = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Path file : files) {
+                adoptions.add(executor.submit(() -> documentStorage.adopt(file, MAX_FILE_SIZE)));
+            }
+        }
+        List<DocumentStorage.WrittenContent> written = new ArrayList<>(files.size());
+        for (Future<DocumentStorage.WrittenContent> adoption : adoptions) {
+            written.add(awaitAdoption(adoption));
+        }
+
+        return transactionTemplate.execute(status -> saveImported(companyId, rows, written));
     }
 
+    private List<Path> resolveImportFiles(List<DocumentImportDTO> rows) {
+        List<Path> files = new ArrayList<>(rows.size());
+        Set<Path> seen = new HashSet<>();
+        for (DocumentImportDTO row : rows) {
+            if (!isValidFileType(row.getFileType())) {
+                throw new BadRequestException("Geçersiz dosya tipi: " + row.getFileType());
+            }
+            Path file = documentStorage.resolveImportable(row.getFilePath())
+                    .orElseThrow(() -> new BadRequestException("Aktarılamayan dosya yolu: " + row.getFilePath()));
+            if (!seen.add(file)) {
+                throw new BadRequestException("Dosya yolu birden fazla kez verildi: " + row.getFilePath());
+            }
+            files.add(file);
+        }
+
+        // Eski düzende doğrudan yoluyla kayıtlı bir evrakın dosyası taşınırsa o evrak açılamaz hale gelir
+        for (int from = 0; from < rows.size(); from += IMPORT_CHUNK_SIZE) {
+            int to = Math.min(from + IMPORT_CHUNK_SIZE, rows.size());
+            Set<String> paths = new HashSet<>();
+            for (int i = from; i < to; i++) {
+                paths.add(rows.get(i).getFilePath());
+                paths.add(files.get(i).toString());
+            }
+            List<String> existing = documentRepository.findExistingFilePaths(paths);
+            if (!existing.isEmpty()) {
+                throw new BadRequestException("Dosya zaten bir evraka ait: " + existing.get(0));
+            }
+        }
+        return files;
+    }
+
+    private DocumentStorage.WrittenContent awaitAdoption(Future<DocumentStorage.WrittenContent> adoption) {
+        try {
+            return adoption.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        }
+    }
+
+    private int saveImported(Long companyId, List<DocumentImportDTO> rows,
+                             List<DocumentStorage.WrittenContent> written) {
+        List<DocumentUploadedEvent> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        for (int i = 0; i < rows.size(); i++) {
+            DocumentImportDTO row = rows.get(i);
+            DocumentStorage.StoredContent stored;
+            try {
+                stored = documentStorage.addReference(written.get(i));
+            } catch (IOException e) {
+                throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+            }
+
+            // clear() sonrasında önceki referans detached olacağı için her seferinde yeniden alınır
+            Document document = newDocument(entityManager.getReference(Company.class, companyId),
+                    row.getOriginalFileName(), row.getFileType(), stored);
+            if (row.getUploadDate() != null) {
+                document.setUploadDate(row.getUploadDate());
+            }
+            entityManager.persist(document);
+            chunk.add(uploadedEvent(document));
+
+            if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                flushImported(chunk);
+                chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            }
+        }
+        flushImported(chunk);
+
+        companyDocumentCounter.add(companyId, rows.size());
+        return rows.size();
+    }
+
+    // Önizleme işleri ve outbox kayıtları da parçayla birlikte yazılsın diye olay flush'tan önce yayınlanır
+    private void flushImported(List<DocumentUploadedEvent> chunk) {
+        if (!chunk.isEmpty()) {
+            eventPublisher.publishEvent(new DocumentsImportedEvent(chunk));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private DocumentStorage.WrittenContent writeFile(MultipartFile file) throws IOException {
+        if (!isValidFileType(file.getContentType())) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        }
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+        try (InputStream in = file.getInputStream()) {
+            return documentStorage.write(in, MAX_FILE_SIZE, file.getContentType());
+        }
+    }
+
+    // Dinleyiciler (ör. içerik indeksleme) commit sonrasında çalışır
+    private void publishUploaded(Document document) {
+        eventPublisher.publishEvent(uploadedEvent(document));
+    }
+
+    private static DocumentUploadedEvent uploadedEvent(Document document) {
+        return new DocumentUploadedEvent(document.getId(), document.getCompany().getId(),
+                document.getOriginalFileName(), document.getFileType(), document.getFilePath(), document.getCodec());
+    }
+
+    private Document newDocument(Company company, String originalFileName, String contentType,
+                                 DocumentStorage.StoredContent stored) {
+        Document document = new Document();
+        document.setFileName(stored.contentHash());
+        document.setFilePath(stored.path().toString());
+        document.setCompany(company);
+        document.setOriginalFileName(originalFileName);
+        document.setFileType(contentType);
+        document.setFileSize(stored.size());
+        document.setChecksum(stored.contentHash());
+        document.setCodec(stored.codec());
+        document.setUploadDate(Instant.now());
+        return document;
+    }
+
+    @Transactional(readOnly = true)
     public Page<DocumentDTO> getDocumentsByCompany(Long companyId, DocumentSearchCriteria criteria, Pageable pageable) {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
 
+        // Listede entity değil yalnızca gösterilen kolonlar okunur (bkz. DocumentListingQuery)
+        Timer.Sample query = Timer.start();
+        Page<DocumentListRow> rows = documentListingQuery.findAll(buildSpecification(company, criteria), pageable);
+        ArchivedDocumentRepository.Filter archiveFilter = archiveFilter(companyId, criteria);
+        if (documentArchive.reaches(archiveFilter.uploadedFrom())) {
+            // Arşiv kayıtları yalnızca güncel evrakların ardına eklenebilir; başka sıralamada eksik sonuç dönmesin
+            if (!isNewestFirst(pageable.getSort())) {
+                throw new BadRequestException("Arşive uzanan listelemeler yalnızca yükleme tarihine göre yeniden eskiye sıralanabilir");
+            }
+            rows = withArchived(rows, archiveFilter, pageable);
+        }
+        documentMetrics.recordListing(query, "offset", companyId, rows.getNumberOfElements());
+        return rows.map(documentMapper::toDto);
+    }
+
+    /**
+     * (uploadDate, id) üzerinden keyset sayfalama. Offset ve toplam sayım kullanılmadığı için
+     * derin sayfalarda da maliyet sabit kalır; bir sonraki sayfa için opak bir imleç döner.
+     */
+    @Transactional(readOnly = true)
+    public DocumentSliceDTO getDocumentsByCompany(Long companyId, DocumentSearchCriteria criteria, String cursor, int size) {
+        Company company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
+
+        Specification<Document> spec = buildSpecification(company, criteria);
+        DocumentCursor after = cursor != null && !cursor.isEmpty() ? DocumentCursor.decode(cursor) : null;
+        if (after != null) {
+            spec = spec.and(after.toSpecification());
+        }
+
+        // Sonraki sayfanın olup olmadığını anlamak için bir kayıt fazla okunur
+        Timer.Sample query = Timer.start();
+        List<DocumentListRow> rows = documentListingQuery.findAll(spec, DocumentCursor.SORT, size + 1);
+        ArchivedDocumentRepository.Filter archiveFilter = archiveFilter(companyId, criteria);
+        if (rows.size() <= size && documentArchive.reaches(archiveFilter.uploadedFrom())) {
+            // Güncel evraklar bittiğinde sayfa arşivden, aynı sıralama ve imleçle tamamlanır
+            rows = new ArrayList<>(rows);
+            if (!rows.isEmpty()) {
+                after = DocumentCursor.of(rows.get(rows.size() - 1));
+            }
+            rows.addAll(archivedDocuments.findRows(archiveFilter,
+                    after != null ? after.uploadDate() : null, after != null ? after.id() : null,
+                    0, size + 1 - rows.size()));
+        }
+        documentMetrics.recordListing(query, "keyset", companyId, rows.size());
+
+        boolean hasNext = rows.size() > size;
+        List<DocumentListRow> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? DocumentCursor.of(content.get(content.size() - 1)).encode() : null;
+
+        return new DocumentSliceDTO(content.stream().map(documentMapper::toDto).toList(), nextCursor, hasNext);
+    }
+
+    static Specification<Document> buildSpecification(Company company, DocumentSearchCriteria criteria) {
         Specification<Document> spec = Specification.where(DocumentSpecifications.belongsToCompany(company));
 
         if (criteria.getSearchTerm() != null && !criteria.getSearchTerm().isEmpty()) {
@@ -125,98 +496,125 @@ public class DocumentService {
             spec = spec.and(DocumentSpecifications.uploadedBefore(criteria.getEndDate().plusDays(1).atStartOfDay()));
         }
 
-        Page<Document> documentPage = documentRepository.findAll(spec, pageable);
-        return documentPage.map(documentMapper::toDto);
+        return spec;
     }
 
+    /**
+     * Arşivdeki evraklar güncel evraklardan daha eski olduğundan yükleme tarihine göre yeniden eskiye
+     * sıralamada onların ardından gelir; sayfa güncel evraklarla dolmadıysa arşivden tamamlanır. Arşivden
+     * hiçbir zaman sayfa boyutundan (sayfasız listelemede MAX_ARCHIVED_ROWS'tan) fazla kayıt okunmaz.
+     */
+    private Page<DocumentListRow> withArchived(Page<DocumentListRow> rows, ArchivedDocumentRepository.Filter filter,
+                                               Pageable pageable) {
+        long archived = archivedDocuments.count(filter);
+        if (archived == 0) {
+            return rows;
+        }
+        List<DocumentListRow> content = new ArrayList<>(rows.getContent());
+        if (pageable.isUnpaged()) {
+            content.addAll(archivedDocuments.findRows(filter, null, null, 0, (int) Math.min(archived, MAX_ARCHIVED_ROWS)));
+        } else if (content.size() < pageable.getPageSize()) {
+            long offset = Math.max(0, pageable.getOffset() - rows.getTotalElements());
+            if (offset < archived) {
+                int limit = (int) Math.min(pageable.getPageSize() - content.size(), archived - offset);
+                content.addAll(archivedDocuments.findRows(filter, null, null, offset, limit));
+            }
+        }
+        return new PageImpl<>(content, pageable, rows.getTotalElements() + archived);
+    }
+
+    private static boolean isNewestFirst(Sort sort) {
+        Sort.Order first = sort.stream().findFirst().orElse(null);
+        return first != null && first.getProperty().equals("uploadDate") && first.isDescending();
+    }
+
+    // buildSpecification ile aynı tarih sınırları
+    private static ArchivedDocumentRepository.Filter archiveFilter(Long companyId, DocumentSearchCriteria criteria) {
+        return new ArchivedDocumentRepository.Filter(companyId, criteria.getSearchTerm(), criteria.getFileType(),
+                criteria.getStartDate() != null ? startOf(criteria.getStartDate()) : null,
+                criteria.getEndDate() != null ? startOf(criteria.getEndDate().plusDays(1)) : null);
+    }
+
+    // Kullanıcının verdiği tarihler sistem saat dilimindedir; arşiv sınırıyla karşılaştırma Instant üzerinden yapılır
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Güncel evraklarda bulunamazsa arşivde aranır; getDocument ile açılabilen her evrak silinebilir.
+     */
     public void deleteDocument(Long id) {
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.DOCUMENT_NOT_FOUND));
-                
+        Optional<Document> current = documentRepository.findById(id);
+        Document document;
+        if (current.isPresent()) {
+            document = current.get();
+            releaseFile(document);
+            documentRepository.deleteById(id);
+        } else {
+            document = (documentArchive.isEnabled() ? archivedDocuments.findById(id) : Optional.<Document>empty())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.DOCUMENT_NOT_FOUND));
+            deleteArchived(document);
+        }
+
+        companyDocumentCounter.add(document.getCompany().getId(), -1);
+        eventPublisher.publishEvent(new DocumentDeletedEvent(id, document.getCompany().getId()));
+    }
+
+    private void deleteArchived(Document document) {
+        archivedDocuments.deleteAllByIdIn(List.of(document.getId()));
+
+        Path file = Paths.get(document.getFilePath()).toAbsolutePath().normalize();
+        if (!file.startsWith(documentArchive.coldRoot())) {
+            // Dosyaları henüz soğuk depolamaya taşınmamış partition; kayıt sıcak depodaki referansını tutmaya devam eder
+            releaseFile(document);
+            return;
+        }
+
+        // Arşiv kayıtları içerik referansı tutmaz; soğuk depolamadaki dosya başka bir arşiv kaydı kullanmıyorsa silinir
+        if (archivedDocuments.isFileReferenced(document.getFilePath())) {
+            return;
+        }
         try {
-            Files.deleteIfExists(Paths.get(document.getFilePath()));
+            Files.deleteIfExists(file);
+            for (PreviewVariant variant : PreviewVariant.values()) {
+                Files.deleteIfExists(variant.pathFor(file));
+            }
         } catch (IOException e) {
             throw new BusinessException(ErrorCode.FILE_DELETE_ERROR, e);
         }
-        
-        documentRepository.deleteById(id);
     }
 
-    public void openDocument(Long id) {
-        Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.DOCUMENT_NOT_FOUND));
-
-        File file = new File(document.getFilePath());
-        if (!file.exists()) {
-            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+    private void releaseFile(Document document) {
+        if (document.getChecksum() != null) {
+            documentStorage.release(document.getChecksum());
+        } else {
+            // İçerik adresli depolamadan önce yüklenmiş evraklar
+            try {
+                Files.deleteIfExists(Paths.get(document.getFilePath()));
+            } catch (IOException e) {
+                throw new BusinessException(ErrorCode.FILE_DELETE_ERROR, e);
+            }
         }
+    }
 
-        try {
-            String os = System.getProperty("os.name").toLowerCase();
-            String fileExtension = getFileExtension(document.getOriginalFileName()).toLowerCase();
-
-            ProcessBuilder processBuilder;
-            if (os.contains("win")) {
-                if (isImageFile(fileExtension)) {
-                    // Windows için resim dosyalarını explorer ile aç
-                    String absolutePath = file.getAbsolutePath();
-                    processBuilder = new ProcessBuilder(
-                        "explorer.exe",
-                        absolutePath
-                    );
-                } else {
-                    // Diğer dosyalar için varsayılan uygulamayı kullanalım
-                    processBuilder = new ProcessBuilder();
-                    processBuilder.command("cmd", "/c", "start", "", file.getAbsolutePath());
-                }
-            } else if (os.contains("mac")) {
-                processBuilder = new ProcessBuilder("open", file.getAbsolutePath());
-            } else if (os.contains("nix") || os.contains("nux")) {
-                processBuilder = new ProcessBuilder("xdg-open", file.getAbsolutePath());
-            } else {
-                if (Desktop.isDesktopSupported()) {
-                    Desktop desktop = Desktop.getDesktop();
-                    if (desktop.isSupported(Desktop.Action.OPEN)) {
-                        desktop.open(file);
-                        return;
-                    }
-                }
-                throw new RuntimeException("Sistem dosya açma işlemini desteklemiyor");
-            }
-
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-            
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String errorOutput = reader.lines().collect(Collectors.joining("\n"));
-                    throw new RuntimeException("Dosya açılamadı. Hata kodu: " + exitCode + "\nHata: " + errorOutput);
-                }
-            }
-        } catch (IOException | InterruptedException e) {
-            throw new BusinessException(ErrorCode.FILE_OPEN_ERROR, e);
-        }
-    }
-
-    private boolean isImageFile(String extension) {
-        return extension.matches("jpg|jpeg|png|gif|bmp|webp|tiff|ico");
-    }
-
-    private String getFileExtension(String fileName) {
-        int lastIndexOf = fileName.lastIndexOf(".");
-        if (lastIndexOf == -1) {
-            return ""; // Uzantı yoksa boş string döndür
-        }
-        return fileName.substring(lastIndexOf + 1);
+    /**
+     * Evrak içeriğini orijinal haliyle okumak için açar; sıkıştırılmış içerik akış halinde açılır.
+     */
+    public InputStream openContent(Document document) throws IOException {
+        return documentStorage.open(Paths.get(document.getFilePath()), document.getCodec());
     }
 
+    /**
+     * Güncel evraklarda bulunamazsa arşivde aranır; arşivden dönen kayıt yönetilmeyen, salt okunur bir nesnedir.
+     */
+    @Transactional(readOnly = true)
     public Document getDocument(Long id) {
         return documentRepository.findById(id)
+                .or(() -> documentArchive.isEnabled() ? archivedDocuments.findById(id) : Optional.empty())
                 .orElseThrow(() -> new BusinessException(ErrorCode.DOCUMENT_NOT_FOUND));
     }
 
-    private boolean isValidFileType(String contentType) {
+    static boolean isValidFileType(String contentType) {
         return contentType != null && (
             contentType.startsWith("image/") ||
             contentType.equals("application/pdf") ||
@@ -226,10 +624,4 @@ public class DocumentService {
             contentType.startsWith("text/")
         );
     }
-
-    private String generateUniqueFileName(String originalFileName) {
-        // Implement the logic to generate a unique file name based on the original file name
-        // This is a placeholder and should be replaced with the actual implementation
-        return originalFileName;
-    }
 }
@@ -0,0 +1,259 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.dto.DocumentDTO;
+import org.kafka.evraktakip.dto.UploadSessionCreateDTO;
+import org.kafka.evraktakip.dto.UploadSessionDTO;
+import org.kafka.evraktakip.exception.BadRequestException;
+import org.kafka.evraktakip.exception.BusinessException;
+import org.kafka.evraktakip.exception.ErrorCode;
+import org.kafka.evraktakip.exception.NotFoundException;
+import org.kafka.evraktakip.mapper.UploadSessionMapper;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.UploadSession;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.repository.UploadSessionRepository;
+import org.kafka.evraktakip.storage.DocumentStorage;
+import org.kafka.evraktakip.storage.UploadSessionFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Kaldığı yerden devam ettirilebilen, parça parça evrak yükleme. İstemci bir oturum açar, parçaları
+ * (paralel olarak da) numaralarıyla gönderir, eksik parçaları sorgulayıp yeniden gönderir ve oturumu
+ * tamamlar. Tamamlanan dosya kopyalanmadan depoya taşınır. Süresi dolan oturumlar
+ * zamanlanmış görevle silinir.
+ */
+@Service
+public class ResumableUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUploadService.class);
+
+    private final UploadSessionRepository sessionRepository;
+    private final CompanyRepository companyRepository;
+    private final UploadSessionFiles sessionFiles;
+    private final DocumentStorage documentStorage;
+    private final DocumentService documentService;
+    private final UploadSessionMapper sessionMapper;
+    private final int chunkSize;
+    private final Duration ttl;
+    private final int cleanupBatchSize;
+
+    public ResumableUploadService(UploadSessionRepository sessionRepository,
+                                  CompanyRepository companyRepository,
+                                  UploadSessionFiles sessionFiles,
+                                  DocumentStorage documentStorage,
+                                  DocumentService documentService,
+                                  UploadSessionMapper sessionMapper,
+                                  @Value("${upload-session.chunk-size:1MB}") DataSize chunkSize,
+                                  @Value("${upload-session.ttl:PT24H}") Duration ttl,
+                                  @Value("${upload-session.cleanup-batch-size:100}") int cleanupBatchSize) {
+        this.sessionRepository = sessionRepository;
+        this.companyRepository = companyRepository;
+        this.sessionFiles = sessionFiles;
+        this.documentStorage = documentStorage;
+        this.documentService = documentService;
+        this.sessionMapper = sessionMapper;
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.ttl = ttl;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    /**
+     * Yükleme oturumu açar ve dosyayı tam boyutuyla diskte ayırır; disk alanı yetmezse oturum açılmaz.
+     */
+    @Transactional
+    public UploadSessionDTO createSession(Long companyId, UploadSessionCreateDTO request) {
+        if (!companyRepository.existsById(companyId)) {
+            throw new BusinessException(ErrorCode.COMPANY_NOT_FOUND);
+        }
+        if (!DocumentService.isValidFileType(request.getContentType())) {
+            throw new BusinessException(ErrorCode.INVALID_FILE_TYPE);
+        }
+        if (request.getTotalSize() > DocumentService.MAX_FILE_SIZE) {
+            throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setCompanyId(companyId);
+        session.setOriginalFileName(request.getOriginalFileName());
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setCreatedAt(Instant.now());
+        session.setExpiresAt(session.getCreatedAt().plus(ttl));
+
+        try {
+            sessionFiles.create(session.getId(), session.getTotalSize());
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.DISK_SPACE_ERROR, e);
+        }
+        try {
+            return toDto(sessionRepository.save(session), List.of());
+        } catch (RuntimeException e) {
+            deleteFiles(session.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * Parçayı dosyadaki yerine yazar. Akış süresince veritabanı bağlantısı tutulmaz; parça yalnızca
+     * tamamen yazıldıktan sonra alınmış olarak işaretlenir. Aynı parça tekrar gönderilebilir.
+     */
+    public void writeChunk(String sessionId, int index, InputStream content) {
+        UploadSession session = findActive(sessionId);
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new BadRequestException("Geçersiz parça numarası: " + index);
+        }
+
+        try {
+            sessionFiles.writeChunk(sessionId, (long) index * session.getChunkSize(), session.chunkLength(index), content);
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        }
+        sessionRepository.markChunkReceived(sessionId, index);
+    }
+
+    @Transactional
+    public UploadSessionDTO getSession(String sessionId) {
+        UploadSession session = findActive(sessionId);
+        return toDto(session, sessionRepository.findReceivedChunks(sessionId));
+    }
+
+    /**
+     * Tüm parçalar alındıysa dosyayı depoya taşır ve evrak kaydını oluşturur. Kayıt oluşturulamazsa dosya
+     * oturuma geri bağlanır ve oturum yeniden tamamlanabilir.
+     */
+    @Transactional
+    public DocumentDTO complete(String sessionId) {
+        UploadSession session = sessionRepository.findByIdForUpdate(sessionId)
+                .filter(s -> s.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new NotFoundException("Yükleme oturumu bulunamadı: " + sessionId));
+        int missing = session.getChunkCount() - sessionRepository.findReceivedChunks(sessionId).size();
+        if (missing > 0) {
+            throw new BadRequestException("Eksik parça sayısı: " + missing);
+        }
+        Company company = companyRepository.findById(session.getCompanyId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.COMPANY_NOT_FOUND));
+
+        Path file;
+        try {
+            // Diske yazılmakta olan parça tamponu beklenir; özet alınan dosyaya artık yazılamaz
+            file = sessionFiles.detach(sessionId);
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        }
+
+        DocumentStorage.StoredContent stored;
+        try {
+            stored = documentStorage.addReference(documentStorage.adopt(file, DocumentService.MAX_FILE_SIZE));
+        } catch (IOException | RuntimeException e) {
+            // Başarısız depolamada dosya yerinde kalır (bkz. DocumentStorage.adopt)
+            reattach(sessionId);
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR, e);
+        }
+        // Kayıt geri alınırsa depo dosyayı önce ayrıldığı yola geri koyar, ardından oturuma bağlanır
+        reattachOnRollback(sessionId);
+
+        DocumentDTO document = documentService.saveStoredDocument(
+                company, session.getOriginalFileName(), session.getContentType(), stored);
+        sessionRepository.delete(session);
+        return document;
+    }
+
+    @Transactional
+    public void abort(String sessionId) {
+        UploadSession session = sessionRepository.findByIdForUpdate(sessionId)
+                .orElseThrow(() -> new NotFoundException("Yükleme oturumu bulunamadı: " + sessionId));
+        deleteFiles(sessionId);
+        sessionRepository.delete(session);
+    }
+
+    /**
+     * Süresi dolmuş oturumların dosyalarını ve kayıtlarını siler. Dosya önce silinir ki kayıt silinemese
+     * bile bir sonraki çalışmada yeniden denensin.
+     */
+    @Scheduled(initialDelayString = "${upload-session.cleanup-interval:PT15M}",
+               fixedDelayString = "${upload-session.cleanup-interval:PT15M}")
+    public void deleteExpiredSessions() {
+        List<UploadSession> expired;
+        int deleted = 0;
+        do {
+            expired = sessionRepository.findByExpiresAtBefore(Instant.now(), Limit.of(cleanupBatchSize));
+            for (UploadSession session : expired) {
+                try {
+                    sessionFiles.delete(session.getId());
+                    sessionRepository.deleteById(session.getId());
+                    deleted++;
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Süresi dolan yükleme oturumu silinemedi: {}", session.getId(), e);
+                    return;
+                }
+            }
+        } while (expired.size() == cleanupBatchSize);
+
+        if (deleted > 0) {
+            logger.info("Süresi dolan {} yükleme oturumu silindi", deleted);
+        }
+    }
+
+    private UploadSession findActive(String sessionId) {
+        // Süresi dolmuş ama henüz temizlenmemiş oturumlar yok sayılır
+        return sessionRepository.findById(sessionId)
+                .filter(s -> s.getExpiresAt().isAfter(Instant.now()))
+                .orElseThrow(() -> new NotFoundException("Yükleme oturumu bulunamadı: " + sessionId));
+    }
+
+    private UploadSessionDTO toDto(UploadSession session, List<Integer> receivedChunks) {
+        UploadSessionDTO dto = sessionMapper.toDto(session);
+        dto.setReceivedChunks(receivedChunks);
+        dto.setReceivedBytes(receivedChunks.stream().mapToLong(session::chunkLength).sum());
+        return dto;
+    }
+
+    private void reattachOnRollback(String sessionId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    reattach(sessionId);
+                }
+            }
+        });
+    }
+
+    private void reattach(String sessionId) {
+        try {
+            sessionFiles.reattach(sessionId);
+        } catch (IOException e) {
+            logger.warn("Yükleme oturumu dosyası geri bağlanamadı: {}", sessionId, e);
+        }
+    }
+
+    private void deleteFiles(String sessionId) {
+        try {
+            sessionFiles.delete(sessionId);
+        } catch (IOException e) {
+            logger.warn("Yükleme oturumu dosyası silinemedi: {}", sessionId, e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package org.kafka.evraktakip.service;
+
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.preview.PreviewVariant;
+import org.kafka.evraktakip.repository.ArchivedDocumentRepository;
+import org.kafka.evraktakip.repository.DocumentFileStatus;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Yükleme dizini ile documents (arşiv etkinse documents_archive de) tablosunu karşılaştırır:
+ * <ul>
+ *     <li>Hiçbir kayda ait olmayan dosyalar karantinaya taşınır (veya silinir). Dizin ağacı, üst seviye
+ *     parça dizinleri paralel yürünerek taranır; yollar sabit boyutlu gruplar halinde IN sorgusuyla kontrol edilir.</li>
+ *     <li>Dosyası bulunmayan kayıtlar id sırasıyla parça parça okunur ve file_missing ile işaretlenir.</li>
+ * </ul>
+ * İki taraf da hiçbir zaman tamamen belleğe alınmaz. Yazılmakta olan dosyaların (dosya önce yazılır,
+ * kayıt sonra eklenir) yetim sayılmaması için min-age süresinden yeni dosyalara dokunulmaz.
+ */
+@Component
+public class UploadDirectoryReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadDirectoryReconciler.class);
+
+    private static final String TEMP_DIR = ".tmp";
+    private static final String QUARANTINE_DIR = ".quarantine";
+
+    public enum OrphanAction {
+        QUARANTINE,
+        DELETE
+    }
+
+    private final DocumentRepository documentRepository;
+    private final ArchivedDocumentRepository archivedDocuments;
+    private final DocumentArchive documentArchive;
+    private final Path root;
+    private final OrphanAction orphanAction;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration minAge;
+
+    public UploadDirectoryReconciler(DocumentRepository documentRepository,
+                                     ArchivedDocumentRepository archivedDocuments,
+                                     DocumentArchive documentArchive,
+                                     @Value("${file.upload-dir:uploads}") String uploadDir,
+                                     @Value("${upload-reconcile.orphan-action:QUARANTINE}") OrphanAction orphanAction,
+                                     @Value("${upload-reconcile.batch-size:1000}") int batchSize,
+                                     @Value("${upload-reconcile.parallelism:4}") int parallelism,
+                                     @Value("${upload-reconcile.min-age:PT1H}") Duration minAge) {
+        this.documentRepository = documentRepository;
+        this.archivedDocuments = archivedDocuments;
+        this.documentArchive = documentArchive;
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.orphanAction = orphanAction;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.minAge = minAge;
+    }
+
+    @Scheduled(initialDelayString = "${upload-reconcile.initial-delay:PT10M}",
+               fixedDelayString = "${upload-reconcile.interval:P1D}")
+    public void reconcile() {
+        try {
+            int orphans = reconcileFiles();
+            int missing = reconcileRows();
+            if (orphans > 0 || missing > 0) {
+                logger.warn("Yükleme dizini mutabakatı: {} yetim dosya ({}), {} kaydın dosyası eksik",
+                        orphans, orphanAction, missing);
+            }
+        } catch (IOException e) {
+            logger.error("Yükleme dizini taranamadı", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hiçbir evrak kaydına ait olmayan dosyaları işler ve sayısını döner.
+     */
+    int reconcileFiles() throws IOException, InterruptedException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(minAge);
+        AtomicInteger orphans = new AtomicInteger();
+
+        // Yarım kalmış yüklemelerden kalan geçici dosyalar
+        cleanTempDir(cutoff);
+
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path entry : entries) {
+                // .tmp, .quarantine ve benzeri iç dizinler taranmaz
+                if (!entry.getFileName().toString().startsWith(".")) {
+                    shards.add(entry);
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            // Kök dizindeki dosyalar (içerik adresli depolamadan önce yüklenmiş evraklar)
+            tasks.add(executor.submit(() -> walk(root, 1, cutoff, orphans)));
+            for (Path shard : shards) {
+                tasks.add(executor.submit(() -> walk(shard, Integer.MAX_VALUE, cutoff, orphans)));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return orphans.get();
+    }
+
+    private Void walk(Path start, int maxDepth, Instant cutoff, AtomicInteger orphans) throws IOException {
+        List<Path> batch = new ArrayList<>(batchSize);
+        Files.walkFileTree(start, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile() && attrs.lastModifiedTime().toInstant().isBefore(cutoff)) {
+                    batch.add(file);
+                    if (batch.size() >= batchSize) {
+                        orphans.addAndGet(checkBatch(batch));
+                        batch.clear();
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                logger.warn("Dosya okunamadı: {}", file, e);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        if (!batch.isEmpty()) {
+            orphans.addAndGet(checkBatch(batch));
+        }
+        return null;
+    }
+
+    private int checkBatch(List<Path> files) throws IOException {
+        // Önizleme görselleri, kaynak dosyalarının sahibine göre değerlendirilir
+        Set<String> owners = new HashSet<>();
+        for (Path file : files) {
+            owners.add(ownerOf(file));
+        }
+        Set<String> referenced = new HashSet<>(documentRepository.findExistingFilePaths(owners));
+        if (documentArchive.isEnabled()) {
+            // Arşivlenen partition'ların dosyaları soğuk depolamaya taşınana kadar yükleme dizininde kalır
+            referenced.addAll(archivedDocuments.findExistingFilePaths(owners));
+        }
+
+        int orphans = 0;
+        for (Path file : files) {
+            if (!referenced.contains(ownerOf(file))) {
+                handleOrphan(file);
+                orphans++;
+            }
+        }
+        return orphans;
+    }
+
+    private String ownerOf(Path file) {
+        return PreviewVariant.sourceOf(file).orElse(file).toString();
+    }
+
+    private void handleOrphan(Path file) throws IOException {
+        try {
+            if (orphanAction == OrphanAction.DELETE) {
+                Files.deleteIfExists(file);
+            } else {
+                Path target = root.resolve(QUARANTINE_DIR).resolve(root.relativize(file));
+                Files.createDirectories(target.getParent());
+                Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            logger.info("Yetim dosya: {} ({})", file, orphanAction);
+        } catch (NoSuchFileException ignored) {
+            // Bu arada silinmiş
+        }
+    }
+
+    private void cleanTempDir(Instant cutoff) throws IOException {
+        Path tempDir = root.resolve(TEMP_DIR);
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Kayıtları id sırasıyla okuyup dosyası olmayanları işaretler; dosyası geri gelenlerin işaretini kaldırır.
+     * Dosyası eksik kayıt sayısını döner.
+     */
+    int reconcileRows() {
+        int missing = 0;
+        long afterId = 0;
+        List<DocumentFileStatus> batch;
+        while (!(batch = documentRepository.findFileStatusesAfter(afterId, Limit.of(batchSize))).isEmpty()) {
+            List<Long> newlyMissing = new ArrayList<>();
+            List<Long> recovered = new ArrayList<>();
+            for (DocumentFileStatus status : batch) {
+                boolean exists = status.filePath() != null && Files.exists(Paths.get(status.filePath()));
+                if (!exists) {
+                    missing++;
+                    if (!status.fileMissing()) {
+                        newlyMissing.add(status.id());
+                        logger.warn("Evrak dosyası bulunamadı: evrak {}, {}", status.id(), status.filePath());
+                    }
+                } else if (status.fileMissing()) {
+                    recovered.add(status.id());
+                }
+            }
+            if (!newlyMissing.isEmpty()) {
+                documentRepository.updateFileMissing(newlyMissing, true);
+            }
+            if (!recovered.isEmpty()) {
+                documentRepository.updateFileMissing(recovered, false);
+            }
+            afterId = batch.get(batch.size() - 1).id();
+        }
+        return missing;
+    }
+}
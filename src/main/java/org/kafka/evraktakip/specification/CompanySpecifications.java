@@ -0,0 +1,15 @@
+package org.kafka.evraktakip.specification;
+
+import org.kafka.evraktakip.model.Company;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class CompanySpecifications {
+
+    private CompanySpecifications() {
+    }
+
+    // companies.name üzerindeki pg_trgm GIN indeksi ILIKE '%...%' aramalarını destekler
+    public static Specification<Company> nameContains(String search) {
+        return (root, query, cb) -> LikePatterns.ilike(cb, root.get("name"), LikePatterns.contains(search));
+    }
+}
@@ -0,0 +1,44 @@
+package org.kafka.evraktakip.specification;
+
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Evrak listeleme filtreleri. Koşullar indekslenmiş kolonlara doğrudan uygulanır; kolon bir
+ * fonksiyona (ör. lower()) sarılmadığı için PostgreSQL indeksleri kullanabilir.
+ */
+public final class DocumentSpecifications {
+
+    private DocumentSpecifications() {
+    }
+
+    public static Specification<Document> belongsToCompany(Company company) {
+        return (root, query, cb) -> cb.equal(root.get("company"), company);
+    }
+
+    // original_file_name üzerindeki pg_trgm GIN indeksi ILIKE '%...%' aramalarını destekler
+    public static Specification<Document> originalFileNameContains(String searchTerm) {
+        return (root, query, cb) -> LikePatterns.ilike(cb, root.get("originalFileName"), LikePatterns.contains(searchTerm));
+    }
+
+    public static Specification<Document> hasFileType(String fileType) {
+        return (root, query, cb) -> cb.equal(root.get("fileType"), fileType);
+    }
+
+    public static Specification<Document> uploadedAfter(LocalDateTime dateTime) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("uploadDate"), toInstant(dateTime));
+    }
+
+    public static Specification<Document> uploadedBefore(LocalDateTime dateTime) {
+        return (root, query, cb) -> cb.lessThan(root.get("uploadDate"), toInstant(dateTime));
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
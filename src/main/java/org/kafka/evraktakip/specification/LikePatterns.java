@@ -0,0 +1,31 @@
+package org.kafka.evraktakip.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+public final class LikePatterns {
+
+    static final char ESCAPE = '\\';
+
+    private LikePatterns() {
+    }
+
+    // Kullanıcının girdiği % ve _ karakterleri joker olarak yorumlanmaz
+    public static String contains(String term) {
+        StringBuilder pattern = new StringBuilder(term.length() + 2).append('%');
+        for (char c : term.trim().toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    // PostgreSQL'de "kolon ILIKE :pattern" olarak üretilir; lower(kolon) LIKE trigram indeksini kullanamaz
+    static Predicate ilike(CriteriaBuilder cb, Expression<String> expression, String pattern) {
+        return ((HibernateCriteriaBuilder) cb).ilike(expression, pattern, ESCAPE);
+    }
+}
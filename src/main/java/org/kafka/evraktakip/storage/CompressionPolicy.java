@@ -0,0 +1,29 @@
+package org.kafka.evraktakip.storage;
+
+import org.kafka.evraktakip.model.StorageCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hangi içerik tiplerinin sıkıştırılarak saklanacağına karar verir. Metin ve eski Office (doc/xls)
+ * dosyaları iyi sıkışır; görseller, PDF ve OOXML (docx/xlsx, zaten ZIP) dosyaları olduğu gibi saklanır.
+ */
+@Component
+public class CompressionPolicy {
+
+    private final boolean enabled;
+
+    public CompressionPolicy(@Value("${storage.compression.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public StorageCodec codecFor(String contentType) {
+        if (!enabled || contentType == null) {
+            return StorageCodec.NONE;
+        }
+        boolean compressible = contentType.startsWith("text/")
+                || contentType.startsWith("application/msword")
+                || contentType.startsWith("application/vnd.ms-excel");
+        return compressible ? StorageCodec.GZIP : StorageCodec.NONE;
+    }
+}
@@ -0,0 +1,313 @@
+package org.kafka.evraktakip.storage;
+
+import org.kafka.evraktakip.model.DocumentBlob;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.repository.DocumentBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * İçerikleri SHA-256 özetine göre {@code ab/cd/<hash>} şeklinde parçalanmış bir dizin
+ * ağacında saklar. Aynı içerik ikinci kez yüklendiğinde diske yeniden yazılmaz,
+ * yalnızca document_blobs tablosundaki referans sayısı artırılır. Sıkıştırılabilir içerik tipleri
+ * {@code <hash>.gz} olarak gzip ile saklanır.
+ * <p>
+ * Dosyanın yerleştirilmesi ve silinmesi document_blobs satırının kilidi altında yapılır: referans ekleyen
+ * transaction satırı commit'e kadar kilitli tutar, silme ise satırı kendi transaction'ında kilitleyip
+ * referans sayısını yeniden kontrol eder. Böylece tekilleştirilen bir içerik, yeni referansı commit
+ * edilmeden önce başka bir silme tarafından diskten kaldırılamaz.
+ */
+@Component
+public class ContentAddressedDocumentStorage implements DocumentStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedDocumentStorage.class);
+
+    private final Path root;
+    private final Path tempDir;
+    private final DocumentBlobRepository blobRepository;
+    private final CompressionPolicy compressionPolicy;
+    // Silme, commit sonrası ya da transaction dışında çağrıldığı için her zaman kendi transaction'ında çalışır
+    private final TransactionTemplate deletionTransaction;
+
+    public ContentAddressedDocumentStorage(@Value("${file.upload-dir:uploads}") String uploadDir,
+                                           DocumentBlobRepository blobRepository,
+                                           CompressionPolicy compressionPolicy,
+                                           PlatformTransactionManager transactionManager) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        // Geçici dosyalar aynı dosya sisteminde tutulur ki taşıma işlemi atomik olsun
+        this.tempDir = root.resolve(".tmp");
+        this.blobRepository = blobRepository;
+        this.compressionPolicy = compressionPolicy;
+        this.deletionTransaction = new TransactionTemplate(transactionManager);
+        this.deletionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public WrittenContent write(InputStream content, long maxBytes, String contentType) throws IOException {
+        Files.createDirectories(tempDir);
+        Path tempFile = tempDir.resolve(UUID.randomUUID().toString());
+
+        StorageCodec codec = compressionPolicy.codecFor(contentType);
+        StreamingFileWriter.WrittenFile written = codec == StorageCodec.GZIP
+                ? StreamingFileWriter.writeGzip(content, tempFile, maxBytes)
+                : StreamingFileWriter.write(content, tempFile, maxBytes);
+        return new WrittenContent(written.checksum(), written.size(), tempFile, codec, false);
+    }
+
+    @Override
+    public WrittenContent adopt(Path file, long maxBytes) throws IOException {
+        StreamingFileWriter.WrittenFile written = StreamingFileWriter.checksum(file, maxBytes);
+        // Yeniden sıkıştırmak içeriği kopyalamak anlamına geleceğinden dosya olduğu gibi taşınır
+        return new WrittenContent(written.checksum(), written.size(), file, StorageCodec.NONE, true);
+    }
+
+    @Override
+    public Optional<Path> resolveImportable(String filePath) {
+        try {
+            Path realRoot = root.toRealPath();
+            // Sembolik bağlantılar çözülür; dizin dışına işaret eden bağlantılar reddedilir
+            Path file = Paths.get(filePath).toRealPath();
+            if (!file.startsWith(realRoot) || !Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            Path relative = realRoot.relativize(file);
+            // .tmp, .uploads, .quarantine gibi iç dizinlerdeki dosyalar aktarılamaz
+            for (Path part : relative) {
+                if (part.toString().startsWith(".")) {
+                    return Optional.empty();
+                }
+            }
+            // Depodaki içerik dosyaları (ab/cd/<özet>) başka evraklarca paylaşıldığı için aktarılamaz
+            if (isBlobPath(relative)) {
+                return Optional.empty();
+            }
+            return Optional.of(file);
+        } catch (IOException | InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public StoredContent addReference(WrittenContent written) throws IOException {
+        // Satır commit'e kadar kilitli kalır; dosya varlığı bu kilit alındıktan sonra kontrol edilir
+        blobRepository.addReference(written.contentHash(), written.size());
+
+        StoredContent stored;
+        try {
+            stored = moveIntoPlace(written);
+        } catch (IOException | RuntimeException e) {
+            if (!written.adopted()) {
+                Files.deleteIfExists(written.file());
+            }
+            blobRepository.removeReference(written.contentHash());
+            throw e;
+        }
+        if (stored.created()) {
+            undoOnRollback(stored, written);
+        }
+        return stored;
+    }
+
+    private StoredContent moveIntoPlace(WrittenContent written) throws IOException {
+        String hash = written.contentHash();
+
+        // Aynı içerik herhangi bir biçimde zaten saklanıyorsa yeniden yazılmaz
+        for (StorageCodec existingCodec : StorageCodec.values()) {
+            Path existing = resolve(hash, existingCodec);
+            if (Files.exists(existing)) {
+                if (!existing.equals(written.file())) {
+                    discard(written);
+                }
+                // Mutabakat, yeni bir kayıt eklenmek üzereyken dosyayı yetim sanmasın diye (bkz. UploadDirectoryReconciler)
+                Files.setLastModifiedTime(existing, FileTime.from(Instant.now()));
+                return new StoredContent(hash, written.size(), existing, false, existingCodec);
+            }
+        }
+
+        Path target = resolve(hash, written.codec());
+        Files.createDirectories(target.getParent());
+        Files.move(written.file(), target, StandardCopyOption.ATOMIC_MOVE);
+        return new StoredContent(hash, written.size(), target, true, written.codec());
+    }
+
+    // Taşınarak alınan dosya kayıt commit edilene kadar silinmez; geri alınırsa kaynak yolunda kalır
+    private void discard(WrittenContent written) throws IOException {
+        if (!written.adopted() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            Files.deleteIfExists(written.file());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.deleteIfExists(written.file());
+                } catch (IOException e) {
+                    logger.warn("Depoya alınan dosyanın kaynağı silinemedi: {}", written.file(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Kayıt eklenemezse yerleştirilen dosya, eşzamanlı bir referans yoksa silinir (bkz. deleteContent);
+     * taşınarak alınan dosya ise kaynak yoluna geri konur.
+     */
+    private void undoOnRollback(StoredContent stored, WrittenContent written) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                if (written.adopted()) {
+                    restore(stored, written.file());
+                } else {
+                    deleteBlobFile(stored.contentHash());
+                }
+            }
+        });
+    }
+
+    private void restore(StoredContent stored, Path source) {
+        try {
+            deletionTransaction.executeWithoutResult(status -> {
+                blobRepository.insertUnreferenced(stored.contentHash());
+                DocumentBlob blob = blobRepository.findByIdForUpdate(stored.contentHash()).orElse(null);
+                try {
+                    if (blob != null && blob.getRefCount() > 0) {
+                        // Bu arada aynı içeriğe referans eklenmiş; depodaki dosya kalır
+                        Files.copy(stored.path(), source, StandardCopyOption.REPLACE_EXISTING);
+                    } else {
+                        Files.move(stored.path(), source, StandardCopyOption.ATOMIC_MOVE);
+                        blobRepository.deleteIfUnreferenced(stored.contentHash());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Depoya alınan dosya kaynak yoluna geri konamadı: {}", source, e);
+        }
+    }
+
+    @Override
+    public Path resolve(String contentHash) {
+        return root.resolve(contentHash.substring(0, 2))
+                .resolve(contentHash.substring(2, 4))
+                .resolve(contentHash);
+    }
+
+    private static boolean isBlobPath(Path relative) {
+        if (relative.getNameCount() != 3) {
+            return false;
+        }
+        String name = relative.getFileName().toString();
+        return name.length() >= 4
+                && relative.getName(0).toString().equals(name.substring(0, 2))
+                && relative.getName(1).toString().equals(name.substring(2, 4));
+    }
+
+    private Path resolve(String contentHash, StorageCodec codec) {
+        Path raw = resolve(contentHash);
+        return codec == StorageCodec.GZIP ? raw.resolveSibling(contentHash + ".gz") : raw;
+    }
+
+    @Override
+    public void release(String contentHash) {
+        blobRepository.removeReference(contentHash);
+        if (!blobRepository.existsByHashAndRefCountLessThanEqual(contentHash, 0)) {
+            return;
+        }
+
+        // Dosya, referansın düşürülmesi kesinleştikten sonra kaldırılır
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteBlobFile(contentHash);
+                }
+            });
+        } else {
+            deleteBlobFile(contentHash);
+        }
+    }
+
+    @Override
+    public List<String> releaseAll(Map<String, Integer> referenceCounts) {
+        List<String> unreferenced = new ArrayList<>();
+        referenceCounts.forEach((hash, count) -> {
+            blobRepository.removeReferences(hash, count);
+            if (blobRepository.existsByHashAndRefCountLessThanEqual(hash, 0)) {
+                unreferenced.add(hash);
+            }
+        });
+        return unreferenced;
+    }
+
+    @Override
+    public void deleteContent(String contentHash) throws IOException {
+        try {
+            deletionTransaction.executeWithoutResult(status -> {
+                blobRepository.insertUnreferenced(contentHash);
+                DocumentBlob blob = blobRepository.findByIdForUpdate(contentHash).orElse(null);
+                // Bu arada aynı içerik yeniden yüklendiyse dosya korunur
+                if (blob == null || blob.getRefCount() > 0) {
+                    return;
+                }
+                deleteFiles(contentHash);
+                blobRepository.deleteIfUnreferenced(contentHash);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void deleteFiles(String contentHash) {
+        Path blob = resolve(contentHash);
+        // Sıkıştırılmış kopya ve içeriğin yanında üretilen ek dosyalar (ör. "<hash>.thumb.jpg") da silinir
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(blob.getParent(), contentHash + "*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (NoSuchFileException ignored) {
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteBlobFile(String contentHash) {
+        try {
+            deleteContent(contentHash);
+        } catch (IOException e) {
+            logger.warn("Evrak içeriği silinemedi: {}", contentHash, e);
+        }
+    }
+}
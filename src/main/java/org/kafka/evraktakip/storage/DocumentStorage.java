@@ -0,0 +1,94 @@
+package org.kafka.evraktakip.storage;
+
+import org.kafka.evraktakip.model.StorageCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Evrak içeriklerinin diskte nasıl tutulacağını DocumentService'ten soyutlar.
+ */
+public interface DocumentStorage {
+
+    /**
+     * İçeriği en fazla maxBytes olacak şekilde okuyup saklar ve içeriğe bir referans ekler.
+     */
+    default StoredContent store(InputStream content, long maxBytes, String contentType) throws IOException {
+        return addReference(write(content, maxBytes, contentType));
+    }
+
+    /**
+     * İçeriği yalnızca geçici bir dosyaya yazıp özetini hesaplar; veritabanına dokunmadığı için transaction
+     * dışında, paralel olarak çağrılabilir. Depoya alınması için ardından {@link #addReference} çağrılmalıdır.
+     * İçerik tipine göre sıkıştırılarak yazılabilir; kullanılan biçim {@link WrittenContent#codec()} ile döner.
+     */
+    WrittenContent write(InputStream content, long maxBytes, String contentType) throws IOException;
+
+    /**
+     * Aynı dosya sisteminde hazırlanmış bir dosyanın özetini hesaplar; dosya {@link #addReference} ile veri
+     * kopyalanmadan (atomik taşıma ile) depoya alınır ve sıkıştırılmadan saklanır. Hata durumunda ya da
+     * transaction geri alınırsa dosya kaynak yolunda kalır (ya da oraya geri konur).
+     */
+    WrittenContent adopt(Path file, long maxBytes) throws IOException;
+
+    /**
+     * Depo dizini altına dışarıdan bırakılmış normal bir dosyanın gerçek yolunu döner. Dosya dizin dışındaysa,
+     * deponun iç dizinlerindeyse ya da normal bir dosya değilse boş döner.
+     */
+    Optional<Path> resolveImportable(String filePath);
+
+    /**
+     * İçeriğe referans ekler ve yazılan dosyayı yerine taşır; içerik zaten saklanıyorsa yazılan dosya silinir.
+     * Transaction içinde çağrılmalıdır: referans kaydı commit'e kadar kilitli kalır ve bu sürede içerik
+     * silinemez. Transaction geri alınırsa bu çağrıyla yerleştirilen dosya, başka referansı yoksa silinir.
+     */
+    StoredContent addReference(WrittenContent written) throws IOException;
+
+    /**
+     * Özet değerine karşılık gelen (sıkıştırılmamış) dosya yolunu döner.
+     */
+    Path resolve(String contentHash);
+
+    /**
+     * İçeriğe ait bir referansı bırakır; referansı kalmayan içerik commit sonrasında diskten silinir.
+     */
+    void release(String contentHash);
+
+    /**
+     * Birden fazla içeriğin referanslarını tek seferde düşürür ve artık hiç referansı kalmayan içeriklerin
+     * özetlerini döner. Dosyalar silinmez; çağıran taraf commit sonrasında {@link #deleteContent} çağırmalıdır.
+     */
+    List<String> releaseAll(Map<String, Integer> referenceCounts);
+
+    /**
+     * Referansı kalmamış içeriğin dosyalarını, referans kaydını kilitleyerek kendi transaction'ında siler;
+     * içerik bu arada yeniden yüklendiyse (ya da yüklenmekteyse) dokunmaz.
+     */
+    void deleteContent(String contentHash) throws IOException;
+
+    /**
+     * Saklanan dosyayı orijinal içerik olarak okur (gerekirse akış halinde açar).
+     */
+    default InputStream open(Path path, StorageCodec codec) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        return codec == StorageCodec.GZIP ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    /**
+     * Diske yazılmış ama henüz depoya alınmamış içerik.
+     */
+    record WrittenContent(String contentHash, long size, Path file, StorageCodec codec, boolean adopted) {
+    }
+
+    /**
+     * Depodaki içerik; created, dosyanın bu çağrıyla yerleştirildiğini belirtir.
+     */
+    record StoredContent(String contentHash, long size, Path path, boolean created, StorageCodec codec) {
+    }
+}
@@ -0,0 +1,79 @@
+package org.kafka.evraktakip.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Çok sayıda dosyayı paralel ama sınırlı hızda siler; toplu silmeler diskin ve aynı diski kullanan
+ * yüklemelerin G/Ç kapasitesini tüketmez.
+ */
+@Component
+public class RateLimitedFileDeleter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitedFileDeleter.class);
+
+    private final Semaphore permits;
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    public RateLimitedFileDeleter(@Value("${file-deletion.parallelism:8}") int parallelism,
+                                  @Value("${file-deletion.max-per-second:200}") int maxPerSecond) {
+        this.permits = new Semaphore(parallelism);
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+    }
+
+    /**
+     * Verilen silme işlemlerini çalıştırır ve hepsi bitene kadar bekler.
+     */
+    public Result deleteAll(List<Deletion> deletions) throws InterruptedException {
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Deletion deletion : deletions) {
+                permits.acquire();
+                awaitSlot();
+                executor.execute(() -> {
+                    try {
+                        deletion.run();
+                        deleted.incrementAndGet();
+                    } catch (IOException | RuntimeException e) {
+                        logger.warn("Dosya silinemedi", e);
+                        failed.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return new Result(deleted.get(), failed.get());
+    }
+
+    // Her silme için bir zaman aralığı ayrılır; saniyede en fazla maxPerSecond işlem başlar
+    private void awaitSlot() throws InterruptedException {
+        long now = System.nanoTime();
+        long slot = Math.max(nextSlot.getAndUpdate(previous -> Math.max(previous, now) + intervalNanos), now);
+        if (slot > now) {
+            TimeUnit.NANOSECONDS.sleep(slot - now);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Deletion {
+        void run() throws IOException;
+    }
+
+    public record Result(int deleted, int failed) {
+    }
+}
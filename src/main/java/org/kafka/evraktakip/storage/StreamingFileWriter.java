@@ -0,0 +1,121 @@
+package org.kafka.evraktakip.storage;
+
+import org.kafka.evraktakip.exception.BusinessException;
+import org.kafka.evraktakip.exception.ErrorCode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gelen akışı tek geçişte hedef dosyaya FileChannel ile yazar; boyut ve SHA-256
+ * özeti yazma sırasında hesaplanır. Limit aşılırsa yazma kesilir ve yarım dosya silinir.
+ */
+final class StreamingFileWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private StreamingFileWriter() {
+    }
+
+    record WrittenFile(long size, String checksum) {
+    }
+
+    static WrittenFile write(InputStream in, Path target, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = 0;
+
+        FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (channel; ReadableByteChannel source = Channels.newChannel(in)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                if (size > maxBytes) {
+                    throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+                }
+                digest.update(buffer.array(), buffer.position(), buffer.remaining());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        return new WrittenFile(size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * İçeriği gzip ile sıkıştırarak yazar. Boyut ve özet sıkıştırılmamış içerik üzerinden hesaplanır,
+     * böylece aynı içerik hangi biçimde saklanırsa saklansın aynı anahtarı alır.
+     */
+    static WrittenFile writeGzip(InputStream in, Path target, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        OutputStream out = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try (in; GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+                }
+                digest.update(buffer, 0, read);
+                gzip.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        return new WrittenFile(size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Diskte hazır bulunan bir dosyanın boyutunu ve SHA-256 özetini okuyarak hesaplar.
+     */
+    static WrittenFile checksum(Path file, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > maxBytes) {
+                throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+            }
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+
+        return new WrittenFile(size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
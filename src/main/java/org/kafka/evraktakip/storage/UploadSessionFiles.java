@@ -0,0 +1,162 @@
+package org.kafka.evraktakip.storage;
+
+import org.kafka.evraktakip.exception.BusinessException;
+import org.kafka.evraktakip.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Parçalı yükleme oturumlarının dosyalarını {@code uploads/.uploads/<oturum>} altında tutar. Dosya oturum
+ * açılırken tam boyutuyla ayrılır, her parça kendi konumuna FileChannel ile yazılır; böylece parçalar
+ * herhangi bir sırayla ve paralel gelebilir. Dizin depo ile aynı dosya sisteminde olduğundan tamamlanan
+ * dosya {@link DocumentStorage#adopt} ile kopyalanmadan taşınır.
+ * <p>
+ * Parça gövdesi ağdan kilitsiz okunur; kilit yalnızca her tampon diske yazılırken paylaşımlı alınır. Tamamlama
+ * ve silme kilidi özel olarak alır ve yazımdan önce dosyanın oturumda olduğu kontrol edilir; böylece tamamlanmış
+ * (özeti alınmış) bir dosyaya geç kalmış bir parça yazılamaz, yavaş bir istemci de diğer oturumları bekletmez.
+ */
+@Component
+public class UploadSessionFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path dir;
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+
+    public UploadSessionFiles(@Value("${file.upload-dir:uploads}") String uploadDir) {
+        // Nokta ile başlayan dizinler mutabakatta atlanır (bkz. UploadDirectoryReconciler)
+        this.dir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(".uploads");
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public Path path(String sessionId) {
+        return dir.resolve(sessionId);
+    }
+
+    public void create(String sessionId, long size) throws IOException {
+        Files.createDirectories(dir);
+        try (RandomAccessFile file = new RandomAccessFile(path(sessionId).toFile(), "rw")) {
+            file.setLength(size);
+        }
+    }
+
+    /**
+     * Parçayı dosyada verilen konuma yazar. Gövde tam olarak expectedLength bayt olmalıdır.
+     */
+    public void writeChunk(String sessionId, long position, long expectedLength, InputStream content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(path(sessionId), StandardOpenOption.WRITE);
+             ReadableByteChannel source = Channels.newChannel(content)) {
+            boolean end = false;
+            while (!end) {
+                end = fill(source, buffer);
+                buffer.flip();
+                if (written + buffer.remaining() > expectedLength) {
+                    throw new BusinessException(ErrorCode.FILE_SIZE_EXCEEDED);
+                }
+                written += write(sessionId, channel, buffer, position + written);
+                buffer.clear();
+            }
+        }
+
+        if (written != expectedLength) {
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_ERROR);
+        }
+    }
+
+    // Tampon dolana ya da akış bitene kadar okur; akış bittiyse true döner
+    private static boolean fill(ReadableByteChannel source, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer) == -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int write(String sessionId, FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        ReadWriteLock lock = lockFor(sessionId);
+        lock.readLock().lock();
+        try {
+            // Açık kanal taşınan dosyayı göstermeye devam eder; oturumdan ayrılmış dosyaya yazılmaz
+            if (!Files.exists(path(sessionId))) {
+                throw new NoSuchFileException(path(sessionId).toString());
+            }
+            int written = 0;
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer, position + written);
+            }
+            return written;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Süren parça yazımlarının bitmesini bekler ve dosyayı oturumdan ayırır; sonradan gelen parçalar
+     * dosyayı bulamaz. Dönen dosyanın sahibi artık çağıran taraftır.
+     */
+    public Path detach(String sessionId) throws IOException {
+        Path detached = dir.resolve(sessionId + ".complete");
+        ReadWriteLock lock = lockFor(sessionId);
+        lock.writeLock().lock();
+        try {
+            return Files.move(path(sessionId), detached, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tamamlama başarısız olduysa ayrılmış dosyayı oturuma geri bağlar; oturum kaldığı yerden tamamlanabilir.
+     */
+    public void reattach(String sessionId) throws IOException {
+        Path detached = dir.resolve(sessionId + ".complete");
+        ReadWriteLock lock = lockFor(sessionId);
+        lock.writeLock().lock();
+        try {
+            if (Files.exists(detached)) {
+                Files.move(detached, path(sessionId), StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(String sessionId) throws IOException {
+        ReadWriteLock lock = lockFor(sessionId);
+        lock.writeLock().lock();
+        try {
+            Files.deleteIfExists(path(sessionId));
+            // Tamamlama yarıda kaldıysa ayrılmış dosya da temizlenir
+            Files.deleteIfExists(dir.resolve(sessionId + ".complete"));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ReadWriteLock lockFor(String sessionId) {
+        return locks[Math.floorMod(sessionId.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,9 @@
+-- documents.id için IDENTITY yerine pooled sequence (allocationSize = 50)
+-- Mevcut veritabanlarında uygulama yeni sürümle başlatılmadan önce bir kez çalıştırılmalıdır.
+
+CREATE SEQUENCE IF NOT EXISTS documents_seq START WITH 1 INCREMENT BY 50;
+
+-- Sequence'i mevcut en büyük id'nin ötesine taşı (pooled optimizer bir blok geriden başlayabilir)
+SELECT setval('documents_seq', (SELECT COALESCE(MAX(id), 0) FROM documents) + 50);
+
+ALTER TABLE documents ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,9 @@
+-- companies.id için IDENTITY yerine pooled sequence (allocationSize = 50)
+-- Mevcut veritabanlarında uygulama yeni sürümle başlatılmadan önce bir kez çalıştırılmalıdır.
+
+CREATE SEQUENCE IF NOT EXISTS companies_seq START WITH 1 INCREMENT BY 50;
+
+-- Sequence'i mevcut en büyük id'nin ötesine taşı (pooled optimizer bir blok geriden başlayabilir)
+SELECT setval('companies_seq', (SELECT COALESCE(MAX(id), 0) FROM companies) + 50);
+
+ALTER TABLE companies ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,5 @@
+-- Firma evraklarının (upload_date, id) keyset sayfalaması için bileşik indeks.
+-- Büyük tablolarda yazmaları kilitlememek için CONCURRENTLY ile, transaction dışında çalıştırılmalıdır.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_company_upload_date_id
+    ON documents (company_id, upload_date DESC, id DESC);
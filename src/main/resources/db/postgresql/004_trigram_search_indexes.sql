@@ -0,0 +1,17 @@
+-- Dosya adı ve firma adı içinde arama (ILIKE '%terim%') için trigram GIN indeksleri.
+-- Büyük tablolarda yazmaları kilitlememek için CONCURRENTLY ile, transaction dışında çalıştırılmalıdır.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_original_file_name_trgm
+    ON documents USING gin (original_file_name gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_companies_name_trgm
+    ON companies USING gin (name gin_trgm_ops);
+
+-- Entity üzerinde tanımlı B-tree indeksler (ddl-auto=update ile de oluşturulur)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_company_file_type
+    ON documents (company_id, file_type);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_companies_name
+    ON companies (name);
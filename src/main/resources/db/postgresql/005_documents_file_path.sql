@@ -0,0 +1,7 @@
+-- Yükleme dizini mutabakatı: dosya yoluna göre toplu IN sorguları ve eksik dosya işareti.
+-- İndeks, büyük tablolarda yazmaları kilitlememek için CONCURRENTLY ile, transaction dışında çalıştırılmalıdır.
+
+ALTER TABLE documents ADD COLUMN IF NOT EXISTS file_missing boolean NOT NULL DEFAULT false;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_file_path
+    ON documents (file_path);
@@ -0,0 +1,8 @@
+-- Aktarıcı yalnızca yayınlanmamış olayları okur; yayınlanan olaylar saklama süresi boyunca tabloda kalır.
+-- Kısmi indeks yalnızca bekleyen olayları içerdiği için tablo büyüse de küçük kalır.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_unpublished
+    ON outbox_events (id) WHERE published_at IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_published_at
+    ON outbox_events (published_at) WHERE published_at IS NOT NULL;
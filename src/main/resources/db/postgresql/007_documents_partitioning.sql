@@ -0,0 +1,80 @@
+-- documents tablosunu upload_date üzerinden aylık RANGE partition'lı tabloya dönüştürür ve arşivlenen
+-- (documents'tan ayrılan) partition'ların bağlanacağı documents_archive üst tablosunu oluşturur.
+-- Uygulama durdurulmuşken bir kez çalıştırılmalıdır; ardından documents.partitioning.enabled=true ile
+-- gelecek ayların partition'ları ve arşivleme uygulama tarafından yönetilir (bkz. DocumentPartitionMaintenance).
+--
+-- Partition anahtarı birincil anahtarın parçası olmak zorunda olduğundan PK (id, upload_date) olur ve
+-- PostgreSQL partition'lı tablolarda yalnızca id üzerinde (tabloyu ya da documents/documents_archive
+-- ikilisini kapsayan) tekil bir kısıt tanımlanamaz. Değişmez kural: documents ve documents_archive
+-- satırlarının id'leri yalnızca documents_seq'ten gelir (Document entity'si, 001_documents_sequence.sql);
+-- hiçbir kod ya da elle yapılan aktarım id'yi kendisi vermez, arşivleme satırları id'leriyle birlikte taşır.
+-- Bu kural bozulursa findById/silme gibi id ile yapılan işlemler birden fazla satıra denk gelebilir.
+-- Bu tablolarda sonradan yapılacak kolon değişiklikleri documents ve documents_archive için ayrı ayrı
+-- (elle) uygulanmalıdır.
+
+BEGIN;
+
+ALTER TABLE documents RENAME TO documents_unpartitioned;
+
+-- upload_date artık PK'nın parçası; tarihi olmayan eski kayıtlar varsayılan partition'da kalır
+UPDATE documents_unpartitioned SET upload_date = TIMESTAMPTZ '1970-01-01 00:00:00+00' WHERE upload_date IS NULL;
+
+CREATE TABLE documents (LIKE documents_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (upload_date);
+ALTER TABLE documents ADD PRIMARY KEY (id, upload_date);
+ALTER TABLE documents ADD CONSTRAINT fk_documents_company FOREIGN KEY (company_id) REFERENCES companies (id);
+
+-- Mevcut verinin kapsadığı aylar ile önümüzdeki üç ay için partition'lar (sınırlar UTC)
+DO $$
+DECLARE
+    month date;
+    last_month date;
+BEGIN
+    SELECT date_trunc('month', min(upload_date) AT TIME ZONE 'UTC')::date,
+           greatest(date_trunc('month', max(upload_date) AT TIME ZONE 'UTC'),
+                    date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months')::date
+      INTO month, last_month
+      FROM documents_unpartitioned
+     WHERE upload_date > TIMESTAMPTZ '1970-01-01 00:00:00+00';
+    month := coalesce(month, date_trunc('month', now() AT TIME ZONE 'UTC')::date);
+    last_month := coalesce(last_month, (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months')::date);
+
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE documents_p%s PARTITION OF documents FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYY_MM'),
+                       month::text || ' 00:00:00+00',
+                       (month + interval '1 month')::date::text || ' 00:00:00+00');
+        month := (month + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Partition'ı henüz oluşturulmamış tarihler için
+CREATE TABLE documents_default PARTITION OF documents DEFAULT;
+
+INSERT INTO documents SELECT * FROM documents_unpartitioned;
+DROP TABLE documents_unpartitioned;
+
+-- Üst tabloda tanımlanan indeksler tüm partition'lara (ve sonradan oluşturulanlara) uygulanır
+CREATE INDEX idx_documents_checksum ON documents (checksum);
+CREATE INDEX idx_documents_company_upload_date_id ON documents (company_id, upload_date DESC, id DESC);
+CREATE INDEX idx_documents_company_file_type ON documents (company_id, file_type);
+CREATE INDEX idx_documents_file_path ON documents (file_path);
+CREATE INDEX idx_documents_original_file_name_trgm ON documents USING gin (original_file_name gin_trgm_ops);
+-- PK (id, upload_date) olduğundan yalnızca id ile erişim (findById, toplu silme) için; tekil değildir,
+-- id'nin tekilliği documents_seq ile sağlanır (bkz. dosya başı)
+CREATE INDEX idx_documents_id ON documents (id);
+
+-- Arşiv: soğuk partition'lar documents'tan ayrılıp buraya bağlanır, dosyaları soğuk depolama dizinine taşınır
+CREATE TABLE documents_archive (LIKE documents INCLUDING DEFAULTS) PARTITION BY RANGE (upload_date);
+ALTER TABLE documents_archive ADD PRIMARY KEY (id, upload_date);
+CREATE INDEX idx_documents_archive_company_upload_date_id ON documents_archive (company_id, upload_date DESC, id DESC);
+CREATE INDEX idx_documents_archive_id ON documents_archive (id);
+CREATE INDEX idx_documents_archive_file_path ON documents_archive (file_path);
+
+-- Arşivlenen partition'lar; files_moved_at boşsa dosya taşıma yarıda kalmıştır ve sonraki çalışmada sürer
+CREATE TABLE document_archive_partitions (
+    partition_name text PRIMARY KEY,
+    archived_at timestamptz NOT NULL,
+    files_moved_at timestamptz
+);
+
+COMMIT;
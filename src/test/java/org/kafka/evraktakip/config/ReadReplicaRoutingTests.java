@@ -0,0 +1,71 @@
+package org.kafka.evraktakip.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.EvrakTakipApplication;
+import org.kafka.evraktakip.dto.CompanyDTO;
+import org.kafka.evraktakip.service.CompanyService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Birincil ve okuma kopyası olarak iki ayrı yerel (H2) veritabanıyla, aynı thread'de salt okunur bir çağrıdan
+ * sonra yapılan yazmanın kopyaya değil birincile gittiğini doğrular.
+ */
+class ReadReplicaRoutingTests {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void writeAfterReadOnlyCallGoesToPrimary() {
+        try (ConfigurableApplicationContext context = start()) {
+            JdbcTemplate primary = new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class));
+            JdbcTemplate replica = new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class));
+            // Kopya, birincilin şemasıyla kurulur (replikasyonun yerine)
+            String script = workDir.resolve("primary.sql").toString().replace('\\', '/');
+            primary.execute("SCRIPT TO '" + script + "'");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+
+            // İstek boyunca açık tutulan bir EntityManager, kopya bağlantısını sonraki yazmaya taşıyabilirdi
+            assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+
+            CompanyService companyService = context.getBean(CompanyService.class);
+            companyService.getAllCompanies(PageRequest.of(0, 10), null);
+            CompanyDTO company = new CompanyDTO();
+            company.setName("Okumadan Sonra Yazılan");
+            companyService.createCompany(company);
+
+            assertThat(primary.queryForObject("select count(*) from companies where name = ?", Long.class,
+                    company.getName())).isEqualTo(1);
+            assertThat(replica.queryForObject("select count(*) from companies where name = ?", Long.class,
+                    company.getName())).isZero();
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(EvrakTakipApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:routing-test-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "db.replica.jdbc-url=jdbc:h2:mem:routing-test-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "db.replica.username=sa",
+                        "db.replica.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "file.upload-dir=" + workDir.resolve("uploads"),
+                        "search.index-dir=" + workDir.resolve("index"),
+                        "preview.poll-interval=PT1H",
+                        "document-count.reconcile-initial-delay=PT1H")
+                .run();
+    }
+}
@@ -0,0 +1,58 @@
+package org.kafka.evraktakip.exception;
+
+import jakarta.validation.constraints.Max;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTests {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void parameterConstraintViolationIsBadRequest() throws Exception {
+        mockMvc.perform(get("/test").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void badRequestExceptionIsBadRequest() throws Exception {
+        mockMvc.perform(get("/test").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void illegalArgumentExceptionIsServerError() throws Exception {
+        mockMvc.perform(get("/test").param("limit", "0"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @RestController
+    public static class TestController {
+
+        @GetMapping("/test")
+        public int limit(@RequestParam @Max(100) int limit) {
+            if (limit < 0) {
+                throw new BadRequestException("Geçersiz limit: " + limit);
+            }
+            if (limit == 0) {
+                throw new IllegalArgumentException("uygulama hatası");
+            }
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.kafka.evraktakip.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.EvrakTakipApplication;
+import org.kafka.evraktakip.dto.DocumentSearchCriteria;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.kafka.evraktakip.service.DocumentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Birincil ve okuma kopyası olarak iki ayrı yerel (H2) veritabanıyla listeleme yükünü ölçer:
+ * salt okunur listelemelerin kopyaya gittiği, birincil havuzun yalnızca yazmalara kaldığı ve salt okunur
+ * transaction'da flush/kirli kontrol yapılmadığı doğrulanır. Kopya, birincilin SCRIPT çıktısından kurulur.
+ * Varsayılan test görevinde çalışmaz: {@code ./gradlew benchmark --tests '*ReadReplicaLoadTests'}
+ */
+@Tag("benchmark")
+class ReadReplicaLoadTests {
+
+    private static final int COMPANIES = 20;
+    private static final int DOCUMENTS_PER_COMPANY = 500;
+    private static final int CLIENTS = 16;
+    private static final int LISTINGS = 4_000;
+    private static final int WRITES = 200;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void readOnlyListingsGoToReplica() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            List<Long> companyIds = seed(context);
+            DocumentService documentService = context.getBean(DocumentService.class);
+            CompanyRepository companyRepository = context.getBean(CompanyRepository.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            TransactionTemplate readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            // Aynı listeleme, bir okuma-yazma transaction'ına katılarak (eski davranış) birincilde çalıştırılır
+            long primaryBefore = usage(context, "primary");
+            statistics.clear();
+            double readWriteRate = run(companyIds, id ->
+                    readWrite.execute(status -> list(documentService, id)), null);
+            long readWriteFlushes = statistics.getFlushCount();
+            long readWritePrimary = usage(context, "primary") - primaryBefore;
+
+            // Salt okunur listelemeler kopyaya giderken birincilde yazmalar sürer
+            primaryBefore = usage(context, "primary");
+            long replicaBefore = usage(context, "replica");
+            statistics.clear();
+            double readOnlyRate = run(companyIds, id -> list(documentService, id), () -> {
+                Company company = new Company();
+                company.setName("Yazma " + System.nanoTime());
+                return companyRepository.save(company);
+            });
+            long readOnlyFlushes = statistics.getFlushCount();
+            long readOnlyPrimary = usage(context, "primary") - primaryBefore;
+            long readOnlyReplica = usage(context, "replica") - replicaBefore;
+
+            System.out.printf("okuma-yazma: %.0f listeleme/s, birincil bağlantı: %d, flush: %d%n",
+                    readWriteRate, readWritePrimary, readWriteFlushes);
+            System.out.printf("salt okunur: %.0f listeleme/s, birincil bağlantı: %d (yalnızca %d yazma), kopya bağlantı: %d, flush: %d%n",
+                    readOnlyRate, readOnlyPrimary, WRITES, readOnlyReplica, readOnlyFlushes);
+
+            assertThat(readWritePrimary).isGreaterThanOrEqualTo(LISTINGS);
+            assertThat(readOnlyReplica).isGreaterThanOrEqualTo(LISTINGS);
+            assertThat(readOnlyPrimary).isLessThan(LISTINGS / 10);
+            assertThat(readWriteFlushes).isGreaterThanOrEqualTo(LISTINGS);
+            // Yalnızca yazma işlemleri flush eder
+            assertThat(readOnlyFlushes).isLessThanOrEqualTo(WRITES);
+        }
+    }
+
+    private int list(DocumentService documentService, Long companyId) {
+        DocumentSearchCriteria criteria = new DocumentSearchCriteria(null, null, null, null);
+        return documentService.getDocumentsByCompany(companyId, criteria,
+                PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "uploadDate"))).getNumberOfElements();
+    }
+
+    private double run(List<Long> companyIds, Function<Long, Integer> listing,
+                       Supplier<?> write) throws Exception {
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < LISTINGS; i++) {
+                Long companyId = companyIds.get(i % companyIds.size());
+                tasks.add(clients.submit(() -> listing.apply(companyId)));
+            }
+            if (write != null) {
+                for (int i = 0; i < WRITES; i++) {
+                    tasks.add(clients.submit(write::get));
+                }
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+        return LISTINGS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private long usage(ConfigurableApplicationContext context, String pool) {
+        Timer timer = context.getBean(MeterRegistry.class).find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        CompanyRepository companyRepository = context.getBean(CompanyRepository.class);
+        DocumentRepository documentRepository = context.getBean(DocumentRepository.class);
+        List<Long> companyIds = new ArrayList<>();
+        for (int c = 0; c < COMPANIES; c++) {
+            Company company = new Company();
+            company.setName("Firma " + c);
+            company = companyRepository.save(company);
+            companyIds.add(company.getId());
+
+            List<Document> documents = new ArrayList<>(DOCUMENTS_PER_COMPANY);
+            for (int d = 0; d < DOCUMENTS_PER_COMPANY; d++) {
+                Document document = new Document();
+                document.setFileName("evrak-" + c + "-" + d + ".pdf");
+                document.setOriginalFileName("evrak-" + c + "-" + d + ".pdf");
+                document.setFilePath("uploads/evrak-" + c + "-" + d + ".pdf");
+                document.setFileType("application/pdf");
+                document.setFileSize(1024L);
+                document.setUploadDate(Instant.now().minusSeconds(d));
+                document.setCompany(company);
+                documents.add(document);
+            }
+            documentRepository.saveAll(documents);
+        }
+
+        // Kopya, birincilin o anki içeriğiyle kurulur (replikasyonun yerine)
+        String script = workDir.resolve("primary.sql").toString().replace('\\', '/');
+        new JdbcTemplate(context.getBean("primaryDataSource", DataSource.class)).execute("SCRIPT TO '" + script + "'");
+        new JdbcTemplate(context.getBean("replicaDataSource", DataSource.class)).execute("RUNSCRIPT FROM '" + script + "'");
+        return companyIds;
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(EvrakTakipApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:replica-test-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "db.replica.jdbc-url=jdbc:h2:mem:replica-test-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "db.replica.username=sa",
+                        "db.replica.password=",
+                        "db.max-concurrency=" + CLIENTS,
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        // Listeleme ölçümünü ikinci seviye önbellek değil veritabanı belirlesin
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "file.upload-dir=" + workDir.resolve("uploads"),
+                        "search.index-dir=" + workDir.resolve("index"),
+                        "preview.poll-interval=PT1H",
+                        "document-count.reconcile-initial-delay=PT1H")
+                .run();
+    }
+}
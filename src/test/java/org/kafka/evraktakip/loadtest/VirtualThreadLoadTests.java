@@ -0,0 +1,172 @@
+package org.kafka.evraktakip.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.EvrakTakipApplication;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.repository.CompanyRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Yavaş indiren istemciler varken yükleme verimini platform ve sanal thread modlarında karşılaştırır.
+ * Sanal thread modunda taşıyıcı thread'i sabitleyen (pinning) işlemler JFR ile izlenir.
+ * Varsayılan test görevinde çalışmaz: {@code ./gradlew benchmark --tests '*VirtualThreadLoadTests'}
+ */
+@Tag("benchmark")
+class VirtualThreadLoadTests {
+
+    private static final int PLATFORM_THREADS = 20;
+    private static final int SLOW_DOWNLOADS = 40;
+    private static final int UPLOADS = 200;
+    private static final int UPLOAD_CONCURRENCY = 20;
+    private static final int LARGE_FILE_SIZE = 8 * 1024 * 1024;
+
+    private final HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform (%d thread): %.1f yükleme/s%n", PLATFORM_THREADS, platform.uploadsPerSecond());
+        System.out.printf("sanal              : %.1f yükleme/s, sabitlenme: %s%n",
+                virtual.uploadsPerSecond(), virtual.pinnedFrames());
+
+        assertThat(virtual.pinnedFrames()).isEmpty();
+        assertThat(virtual.uploadsPerSecond()).isGreaterThan(platform.uploadsPerSecond());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = start(mode, virtualThreads);
+             RecordingStream pinned = new RecordingStream()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUrl = "http://localhost:" + port + "/api/documents";
+
+            Company company = new Company();
+            company.setName("Yük testi " + mode);
+            Long companyId = context.getBean(CompanyRepository.class).save(company).getId();
+            long largeDocumentId = upload(baseUrl, companyId, "buyuk.pdf", new byte[LARGE_FILE_SIZE]);
+
+            Map<String, Integer> pinnedFrames = new ConcurrentHashMap<>();
+            pinned.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+            pinned.onEvent("jdk.VirtualThreadPinned", event -> {
+                List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+                String frame = frames.stream()
+                        .filter(f -> f.getMethod().getType().getName().startsWith("org.kafka"))
+                        .findFirst()
+                        .or(() -> frames.stream().findFirst())
+                        .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName())
+                        .orElse("?");
+                pinnedFrames.merge(frame, 1, Integer::sum);
+            });
+            pinned.startAsync();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> downloads = new ArrayList<>();
+                for (int i = 0; i < SLOW_DOWNLOADS; i++) {
+                    downloads.add(clients.submit(() -> slowDownload(baseUrl, largeDocumentId)));
+                }
+                // İndirmelerin istek thread'lerini tutmaya başlaması beklenir
+                Thread.sleep(1_000);
+
+                AtomicInteger next = new AtomicInteger();
+                long start = System.nanoTime();
+                List<Future<?>> uploaders = new ArrayList<>();
+                for (int i = 0; i < UPLOAD_CONCURRENCY; i++) {
+                    uploaders.add(clients.submit(() -> {
+                        int n;
+                        while ((n = next.getAndIncrement()) < UPLOADS) {
+                            upload(baseUrl, companyId, "evrak-" + n + ".txt",
+                                    ("yük testi evrakı " + mode + " " + n).getBytes(StandardCharsets.UTF_8));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> uploader : uploaders) {
+                    uploader.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                downloads.forEach(download -> download.cancel(true));
+                pinned.stop();
+                return new Result(UPLOADS / seconds, pinnedFrames);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean virtualThreads) {
+        return new SpringApplicationBuilder(EvrakTakipApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + PLATFORM_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "file.upload-dir=" + workDir.resolve(mode).resolve("uploads"),
+                        "search.index-dir=" + workDir.resolve(mode).resolve("index"),
+                        "preview.poll-interval=PT1H",
+                        "document-count.reconcile-initial-delay=PT1H")
+                .run();
+    }
+
+    private long upload(String baseUrl, Long companyId, String fileName, byte[] content) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/upload/" + companyId + "/stream?fileName=" + fileName))
+                .header("Content-Type", fileName.endsWith(".pdf") ? "application/pdf" : "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(content))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(201);
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("id").asLong();
+    }
+
+    // Gövdeyi ağır ağır okuyarak sunucu tarafındaki yazma işlemini (ve istek thread'ini) meşgul eder
+    private Void slowDownload(String baseUrl, long documentId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + documentId + "/download")).build();
+        try (InputStream body = client.send(request, HttpResponse.BodyHandlers.ofInputStream()).body()) {
+            byte[] buffer = new byte[16 * 1024];
+            while (body.read(buffer) != -1) {
+                Thread.sleep(20);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private record Result(double uploadsPerSecond, Map<String, Integer> pinnedFrames) {
+    }
+}
@@ -0,0 +1,96 @@
+package org.kafka.evraktakip.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.evraktakip.config.CacheConfig;
+import org.kafka.evraktakip.dto.CompanyDTO;
+import org.kafka.evraktakip.mapper.CompanyMapperImpl;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.service.CompanyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({CompanyDocumentCounter.class, CompanyService.class, CompanyMapperImpl.class, ConcurrentMapCacheManager.class})
+class CompanyDocumentCounterTests {
+
+    @Autowired
+    private CompanyDocumentCounter counter;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long companyId;
+
+    @BeforeEach
+    void seed() {
+        Company company = new Company();
+        company.setName("Firma");
+        companyId = companyRepository.saveAndFlush(company).getId();
+    }
+
+    @Test
+    void addsAndSubtractsAtomically() {
+        counter.add(companyId, 3);
+        counter.add(companyId, -1);
+
+        assertThat(documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void neverGoesBelowZero() {
+        counter.add(companyId, 1);
+        counter.add(companyId, -5);
+
+        assertThat(documentCount()).isZero();
+    }
+
+    @Test
+    void evictsCachedCompanyAfterCommit() {
+        Cache companies = cacheManager.getCache(CacheConfig.COMPANIES);
+        companies.put(companyId, "eski");
+
+        counter.add(companyId, 1);
+        // Commit'ten önce temizlenseydi araya giren bir okuma eski değeri yeniden önbelleğe alabilirdi
+        assertThat(companies.get(companyId)).isNotNull();
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(companies.get(companyId)).isNull();
+    }
+
+    @Test
+    void renamingCompanyKeepsCountedDocuments() {
+        // Firma entity'si sayaç artmadan önce persistence context'e yüklenmiş durumda (bkz. seed)
+        counter.add(companyId, 4);
+
+        CompanyDTO update = new CompanyDTO();
+        update.setName("Yeni Firma");
+        companyService.updateCompany(companyId, update);
+        companyRepository.flush();
+
+        assertThat(documentCount()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("select name from companies where id = ?", String.class, companyId))
+                .isEqualTo("Yeni Firma");
+    }
+
+    private long documentCount() {
+        return jdbcTemplate.queryForObject("select document_count from companies where id = ?", Long.class, companyId);
+    }
+}
@@ -0,0 +1,43 @@
+package org.kafka.evraktakip.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.dto.DocumentSearchHitDTO;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentContentIndexTests {
+
+    @TempDir
+    Path indexDir;
+
+    private DocumentContentIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new DocumentContentIndex(indexDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void highlightsEscapeDocumentMarkup() {
+        index.index(1L, 10L, "fatura.html", "fatura <script>alert(1)</script> ödendi");
+
+        List<DocumentSearchHitDTO> hits = index.search(10L, "fatura", 10);
+
+        assertThat(hits).hasSize(1);
+        assertThat(hits.get(0).getHighlights()).singleElement().satisfies(fragment -> {
+            assertThat(fragment).contains("<mark>fatura</mark>");
+            assertThat(fragment).doesNotContain("<script>").contains("&lt;script&gt;");
+        });
+    }
+}
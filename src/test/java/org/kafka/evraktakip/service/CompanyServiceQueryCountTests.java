@@ -0,0 +1,98 @@
+package org.kafka.evraktakip.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.evraktakip.dto.CompanyDTO;
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.mapper.CompanyMapperImpl;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CompanyService.class, CompanyMapperImpl.class, DocumentCountReconciler.class, CompanyDocumentCounter.class,
+        DocumentArchive.class, ConcurrentMapCacheManager.class})
+class CompanyServiceQueryCountTests {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DocumentCountReconciler documentCountReconciler;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 60; i++) {
+            Company company = new Company();
+            company.setName(String.format("Firma %02d", i));
+            entityManager.persist(company);
+            for (int j = 0; j < i % 4; j++) {
+                Document document = new Document();
+                document.setFileName("evrak-" + i + "-" + j + ".pdf");
+                document.setOriginalFileName("evrak-" + i + "-" + j + ".pdf");
+                document.setFilePath("uploads/evrak-" + i + "-" + j + ".pdf");
+                document.setFileType("application/pdf");
+                document.setUploadDate(Instant.now());
+                document.setCompany(company);
+                entityManager.persist(document);
+            }
+        }
+        entityManager.flush();
+        // Evraklar doğrudan eklendiği için sayaçlar gerçek kayıtlardan hesaplanır
+        documentCountReconciler.reconcile();
+        entityManager.clear();
+    }
+
+    @Test
+    void statementCountDoesNotDependOnPageSize() {
+        long small = statementsFor(5);
+        long large = statementsFor(50);
+
+        assertThat(large).isEqualTo(small);
+        // sayfa sorgusu + toplam sayım
+        assertThat(large).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void documentCountsAreFilled() {
+        Page<CompanyDTO> page = companyService.getAllCompanies(PageRequest.of(0, 8, Sort.by("name")), null);
+
+        assertThat(page.getContent()).hasSize(8);
+        for (int i = 0; i < 8; i++) {
+            CompanyDTO company = page.getContent().get(i);
+            long documents = entityManager.createQuery(
+                            "select count(d) from Document d where d.company.id = :id", Long.class)
+                    .setParameter("id", company.getId())
+                    .getSingleResult();
+            assertThat(company.getDocumentCount()).isEqualTo(documents).isEqualTo((long) (i % 4));
+        }
+    }
+
+    private long statementsFor(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        companyService.getAllCompanies(PageRequest.of(0, pageSize, Sort.by("name")), null);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,68 @@
+package org.kafka.evraktakip.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.kafka.evraktakip.archive.DocumentArchive;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.CompanyDocumentCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({DocumentCountReconciler.class, CompanyDocumentCounter.class, DocumentArchive.class,
+        ConcurrentMapCacheManager.class})
+class DocumentCountReconcilerTests {
+
+    @Autowired
+    private DocumentCountReconciler reconciler;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void repairsDriftedCountersFromDocumentRows() {
+        Long withDocuments = company("Evraklı", 3);
+        Long withoutDocuments = company("Evraksız", 0);
+        // Sayaçlar gerçek evrak sayılarından kaymış
+        jdbcTemplate.update("update companies set document_count = 7 where id = ?", withDocuments);
+        jdbcTemplate.update("update companies set document_count = 2 where id = ?", withoutDocuments);
+
+        reconciler.reconcile();
+
+        assertThat(documentCount(withDocuments)).isEqualTo(3);
+        assertThat(documentCount(withoutDocuments)).isZero();
+    }
+
+    private Long company(String name, int documents) {
+        Company company = new Company();
+        company.setName(name);
+        entityManager.persist(company);
+        for (int i = 0; i < documents; i++) {
+            Document document = new Document();
+            document.setFileName("evrak-" + i + ".pdf");
+            document.setOriginalFileName("evrak-" + i + ".pdf");
+            document.setFilePath("uploads/evrak-" + i + ".pdf");
+            document.setFileType("application/pdf");
+            document.setUploadDate(Instant.now());
+            document.setCompany(company);
+            entityManager.persist(document);
+        }
+        entityManager.flush();
+        return company.getId();
+    }
+
+    private long documentCount(Long companyId) {
+        return jdbcTemplate.queryForObject("select document_count from companies where id = ?", Long.class, companyId);
+    }
+}
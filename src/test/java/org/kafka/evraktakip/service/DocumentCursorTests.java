@@ -0,0 +1,26 @@
+package org.kafka.evraktakip.service;
+
+import org.junit.jupiter.api.Test;
+import org.kafka.evraktakip.exception.BadRequestException;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentCursorTests {
+
+    @Test
+    void encodedCursorDecodesToSamePosition() {
+        DocumentCursor cursor = new DocumentCursor(Instant.parse("2024-03-01T10:15:30.123456Z"), 42);
+
+        assertThat(DocumentCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        assertThatThrownBy(() -> DocumentCursor.decode("bozuk-imlec"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("bozuk-imlec");
+    }
+}
@@ -0,0 +1,121 @@
+package org.kafka.evraktakip.specification;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kafka.evraktakip.model.Company;
+import org.kafka.evraktakip.model.Document;
+import org.kafka.evraktakip.repository.DocumentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listeleme filtrelerinin ürettiği SQL'in EXPLAIN çıktısını PostgreSQL modundaki H2 üzerinde kontrol eder.
+ * Trigram (GIN) indeksleri H2'de bulunmadığı için burada yalnızca B-tree indeks kullanımı doğrulanır.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plans;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // EXPLAIN'in parametre bağlamadan çalışabilmesi için değerler SQL'e gömülür
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "org.kafka.evraktakip.specification.DocumentSpecificationsPlanTests$CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DocumentSpecificationsPlanTests {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Company company;
+
+    @BeforeEach
+    void seed() {
+        Instant now = Instant.now();
+        for (int c = 0; c < 5; c++) {
+            Company current = new Company();
+            current.setName("Firma " + c);
+            entityManager.persist(current);
+            for (int i = 0; i < 200; i++) {
+                Document document = new Document();
+                document.setFileName("evrak-" + c + "-" + i);
+                document.setOriginalFileName("fatura-" + c + "-" + i + ".pdf");
+                document.setFilePath("uploads/evrak-" + c + "-" + i);
+                document.setFileType(i % 2 == 0 ? "application/pdf" : "image/png");
+                document.setUploadDate(now.minus(i, ChronoUnit.DAYS));
+                document.setCompany(current);
+                entityManager.persist(document);
+            }
+            company = current;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void dateBoundedListingUsesCompanyUploadDateIndex() {
+        String plan = explain(DocumentSpecifications.belongsToCompany(company)
+                .and(DocumentSpecifications.uploadedAfter(LocalDateTime.now().minusDays(30)))
+                .and(DocumentSpecifications.uploadedBefore(LocalDateTime.now())));
+
+        assertThat(plan).containsIgnoringCase("idx_documents_company_upload_date_id");
+    }
+
+    @Test
+    void fileTypeFilterDoesNotScanTable() {
+        String plan = explain(DocumentSpecifications.belongsToCompany(company)
+                .and(DocumentSpecifications.hasFileType("application/pdf")));
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void fileNameSearchIsScopedByIndexedCompany() {
+        String plan = explain(DocumentSpecifications.belongsToCompany(company)
+                .and(DocumentSpecifications.originalFileNameContains("fatura_1")));
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(CapturingStatementInspector.last()).containsIgnoringCase("ilike");
+    }
+
+    private String explain(Specification<Document> spec) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        documentRepository.findAll(spec, Sort.by(Sort.Order.desc("uploadDate"), Sort.Order.desc("id")));
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + CapturingStatementInspector.last(), String.class));
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static String last() {
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
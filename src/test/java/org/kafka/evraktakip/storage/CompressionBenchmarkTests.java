@@ -0,0 +1,98 @@
+package org.kafka.evraktakip.storage;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.repository.DocumentBlobRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Ham ve gzip saklama modlarının yazma hızını ve disk kullanımını karşılaştırır.
+ * Varsayılan test görevinde çalışmaz: {@code ./gradlew benchmark}
+ */
+@Tag("benchmark")
+class CompressionBenchmarkTests {
+
+    private static final int DOCUMENTS = 200;
+    private static final int DOCUMENT_SIZE = 256 * 1024;
+    private static final long MAX_FILE_SIZE = 10_000_000;
+
+    @TempDir
+    Path rawDir;
+
+    @TempDir
+    Path gzipDir;
+
+    @Test
+    void compareRawAndGzipStorage() throws IOException {
+        byte[][] documents = sampleDocuments();
+        ContentAddressedDocumentStorage raw = new ContentAddressedDocumentStorage(
+                rawDir.toString(), mock(DocumentBlobRepository.class), new CompressionPolicy(false),
+                mock(PlatformTransactionManager.class));
+        ContentAddressedDocumentStorage gzip = new ContentAddressedDocumentStorage(
+                gzipDir.toString(), mock(DocumentBlobRepository.class), new CompressionPolicy(true),
+                mock(PlatformTransactionManager.class));
+
+        // JIT ısınması için sonuçlara katılmayan bir tur
+        writeAll(raw, documents, 0, 20);
+        writeAll(gzip, documents, 0, 20);
+
+        long rawNanos = writeAll(raw, documents, 20, DOCUMENTS);
+        long gzipNanos = writeAll(gzip, documents, 20, DOCUMENTS);
+        long rawBytes = diskUsage(rawDir);
+        long gzipBytes = diskUsage(gzipDir);
+
+        double megabytes = (double) (DOCUMENTS - 20) * DOCUMENT_SIZE / (1024 * 1024);
+        System.out.printf("ham : %.1f MB/s, disk %d KB%n", megabytes / (rawNanos / 1e9), rawBytes / 1024);
+        System.out.printf("gzip: %.1f MB/s, disk %d KB (oran %.2f)%n",
+                megabytes / (gzipNanos / 1e9), gzipBytes / 1024, (double) gzipBytes / rawBytes);
+
+        assertThat(gzipBytes).isLessThan(rawBytes);
+    }
+
+    private long writeAll(ContentAddressedDocumentStorage storage, byte[][] documents, int from, int to)
+            throws IOException {
+        long start = System.nanoTime();
+        for (int i = from; i < to; i++) {
+            DocumentStorage.WrittenContent written = storage.write(
+                    new ByteArrayInputStream(documents[i]), MAX_FILE_SIZE, "text/plain");
+            assertThat(written.codec()).isIn(StorageCodec.NONE, StorageCodec.GZIP);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Her evrak farklı içeriğe sahip olmalı, aksi halde tekilleştirme yazmayı atlar
+    private byte[][] sampleDocuments() {
+        String[] words = {"fatura", "irsaliye", "sözleşme", "tutar", "tarih", "firma", "vergi", "numara",
+                "teslim", "ödeme", "banka", "hesap", "adres", "yetkili", "imza", "kaşe"};
+        Random random = new Random(42);
+        byte[][] documents = new byte[DOCUMENTS][];
+        for (int d = 0; d < DOCUMENTS; d++) {
+            StringBuilder text = new StringBuilder(DOCUMENT_SIZE);
+            text.append("Evrak ").append(d).append('\n');
+            while (text.length() < DOCUMENT_SIZE) {
+                text.append(words[random.nextInt(words.length)]).append(' ').append(random.nextInt(100_000));
+                text.append(random.nextInt(12) == 0 ? '\n' : ' ');
+            }
+            documents[d] = text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return documents;
+    }
+
+    private long diskUsage(Path dir) throws IOException {
+        try (var files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package org.kafka.evraktakip.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kafka.evraktakip.exception.BusinessException;
+import org.kafka.evraktakip.model.DocumentBlob;
+import org.kafka.evraktakip.model.StorageCodec;
+import org.kafka.evraktakip.repository.DocumentBlobRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ContentAddressedDocumentStorageTests {
+
+    private static final String PDF = "application/pdf";
+
+    @TempDir
+    Path uploadDir;
+
+    private DocumentBlobRepository blobRepository;
+    private ContentAddressedDocumentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        blobRepository = mock(DocumentBlobRepository.class);
+        storage = new ContentAddressedDocumentStorage(uploadDir.toString(), blobRepository, new CompressionPolicy(true),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void storesContentInShardedDirectoryByHash() throws Exception {
+        DocumentStorage.StoredContent stored = storage.store(stream("fatura"), 1_000, PDF);
+
+        String hash = stored.contentHash();
+        assertThat(hash).hasSize(64);
+        assertThat(stored.path()).isEqualTo(uploadDir.toAbsolutePath()
+                .resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash));
+        assertThat(Files.readString(stored.path())).isEqualTo("fatura");
+        assertThat(stored.created()).isTrue();
+        verify(blobRepository).addReference(hash, 6);
+    }
+
+    @Test
+    void identicalContentIsWrittenOnlyOnce() throws Exception {
+        DocumentStorage.StoredContent first = storage.store(stream("aynı fatura"), 1_000, PDF);
+        DocumentStorage.StoredContent second = storage.store(stream("aynı fatura"), 1_000, PDF);
+
+        assertThat(second.path()).isEqualTo(first.path());
+        assertThat(second.created()).isFalse();
+        verify(blobRepository, times(2)).addReference(eq(first.contentHash()), anyLong());
+        try (var temp = Files.list(uploadDir.resolve(".tmp"))) {
+            assertThat(temp).isEmpty();
+        }
+    }
+
+    @Test
+    void compressibleContentIsStoredGzippedAndReadBack() throws Exception {
+        String text = "Sayın yetkili, fatura ektedir. ".repeat(200);
+        DocumentStorage.StoredContent stored = storage.store(stream(text), 100_000, "text/plain");
+
+        assertThat(stored.codec()).isEqualTo(StorageCodec.GZIP);
+        assertThat(stored.path().getFileName().toString()).isEqualTo(stored.contentHash() + ".gz");
+        assertThat(Files.size(stored.path())).isLessThan(stored.size());
+        try (var in = storage.open(stored.path(), stored.codec())) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void oversizedContentIsRejectedAndNotKept() {
+        assertThatThrownBy(() -> storage.store(stream("0123456789"), 5, PDF))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void releasingLastReferenceDeletesFile() throws Exception {
+        DocumentStorage.StoredContent stored = storage.store(stream("silinecek"), 1_000, PDF);
+        when(blobRepository.existsByHashAndRefCountLessThanEqual(stored.contentHash(), 0)).thenReturn(true);
+        when(blobRepository.findByIdForUpdate(stored.contentHash())).thenReturn(Optional.of(blob(stored, 0)));
+
+        storage.release(stored.contentHash());
+
+        assertThat(stored.path()).doesNotExist();
+        verify(blobRepository).deleteIfUnreferenced(stored.contentHash());
+    }
+
+    @Test
+    void contentReferencedAgainBeforeDeletionIsKept() throws Exception {
+        DocumentStorage.StoredContent stored = storage.store(stream("yeniden yüklendi"), 1_000, PDF);
+        // Silme kilidi alındığında başka bir yükleme referansı yeniden eklemiş
+        when(blobRepository.findByIdForUpdate(stored.contentHash())).thenReturn(Optional.of(blob(stored, 1)));
+
+        storage.deleteContent(stored.contentHash());
+
+        assertThat(stored.path()).exists();
+        verify(blobRepository, never()).deleteIfUnreferenced(any());
+    }
+
+    @Test
+    void onlyFilesPlacedByRolledBackTransactionAreDeleted() throws Exception {
+        DocumentStorage.StoredContent existing = storage.store(stream("paylaşılan"), 1_000, PDF);
+        when(blobRepository.findByIdForUpdate(any())).thenReturn(Optional.of(blob(existing, 0)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            DocumentStorage.StoredContent reused = storage.store(stream("paylaşılan"), 1_000, PDF);
+            DocumentStorage.StoredContent placed = storage.store(stream("yeni"), 1_000, PDF);
+            assertThat(reused.created()).isFalse();
+            assertThat(placed.created()).isTrue();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertThat(existing.path()).exists();
+            assertThat(placed.path()).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onlyRegularFilesInsideUploadDirAreImportable(@TempDir Path outside) throws Exception {
+        Path dropped = Files.writeString(Files.createDirectories(uploadDir.resolve("aktarim")).resolve("a.pdf"), "a");
+        Path secret = Files.writeString(outside.resolve("gizli.txt"), "gizli");
+        DocumentStorage.StoredContent stored = storage.store(stream("depoda"), 1_000, PDF);
+
+        assertThat(storage.resolveImportable(dropped.toString())).contains(dropped.toRealPath());
+        assertThat(storage.resolveImportable(uploadDir.resolve("aktarim/../aktarim/a.pdf").toString()))
+                .contains(dropped.toRealPath());
+        assertThat(storage.resolveImportable(secret.toString())).isEmpty();
+        assertThat(storage.resolveImportable(uploadDir.resolve("../" + outside.getFileName()).toString())).isEmpty();
+        assertThat(storage.resolveImportable(uploadDir.resolve("aktarim").toString())).isEmpty();
+        assertThat(storage.resolveImportable(uploadDir.resolve("yok.pdf").toString())).isEmpty();
+        assertThat(storage.resolveImportable(stored.path().toString())).isEmpty();
+    }
+
+    @Test
+    void rolledBackAdoptionMovesFileBack() throws Exception {
+        Path dropped = Files.writeString(uploadDir.resolve("aktarilan.pdf"), "aktarılan");
+        when(blobRepository.findByIdForUpdate(any())).thenReturn(Optional.empty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            DocumentStorage.StoredContent stored = storage.addReference(storage.adopt(dropped, 1_000));
+            assertThat(dropped).doesNotExist();
+            assertThat(Files.readString(stored.path())).isEqualTo("aktarılan");
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            assertThat(Files.readString(dropped)).isEqualTo("aktarılan");
+            assertThat(stored.path()).doesNotExist();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static DocumentBlob blob(DocumentStorage.StoredContent stored, long refCount) {
+        DocumentBlob blob = new DocumentBlob();
+        blob.setHash(stored.contentHash());
+        blob.setSize(stored.size());
+        blob.setRefCount(refCount);
+        return blob;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}